@@ -0,0 +1,72 @@
+// Time budget for the enemy AI on each movement tick. Path repairs run in slices and stop once the budget is
+// spent, resuming where they left off on the next tick, so a burst of replanning costs a few ticks of slightly
+// stale routes instead of a long frame. The cost of every tick is kept for reporting.
+public class AiBudget {
+    // Microseconds of path repair allowed per tick (-Dai.budgetMicros), and whether to print the cost every second
+    static final long BUDGET_MICROS = Long.getLong("ai.budgetMicros", 2000);
+    private static final boolean REPORT = Boolean.getBoolean("ai.report");
+
+    // Cells a repair expands between checks of the clock
+    static final int SLICE = 256;
+
+    // Ticks between printed reports (one second)
+    private static final int REPORT_TICKS = 1000 / EnemySystem.TICK_MS;
+
+    private long tickStart, deadline, planStart;
+
+    // Cost of the last tick
+    long tickNanos, repairNanos, planNanos;
+    long expansions;
+    int deferred;
+
+    // Totals since the level started
+    long ticks, overBudgetTicks, maxTickNanos;
+
+    // Expansions counted at the start of the tick, to report the difference
+    private long expansionsBefore;
+
+    // Starts timing a tick
+    void begin(long totalExpansions) {
+        tickStart = System.nanoTime();
+        deadline = tickStart + BUDGET_MICROS * 1000;
+        expansionsBefore = totalExpansions;
+    }
+
+    // True while the tick still has repair time left
+    boolean hasTime() {
+        return System.nanoTime() < deadline;
+    }
+
+    // Marks the end of path repair and the start of planning
+    void repaired(long totalExpansions, int deferredChasers) {
+        planStart = System.nanoTime();
+        repairNanos = planStart - tickStart;
+        expansions = totalExpansions - expansionsBefore;
+        deferred = deferredChasers;
+    }
+
+    // Finishes timing a tick and prints the report when enabled
+    void end() {
+        long now = System.nanoTime();
+        planNanos = now - planStart;
+        tickNanos = now - tickStart;
+        ticks++;
+        if (repairNanos > BUDGET_MICROS * 1000) overBudgetTicks++;
+        maxTickNanos = Math.max(maxTickNanos, tickNanos);
+        if (REPORT && ticks % REPORT_TICKS == 0) System.out.println(this);
+    }
+
+    // Forgets the totals when a new level starts
+    void reset() {
+        ticks = 0;
+        overBudgetTicks = 0;
+        maxTickNanos = 0;
+    }
+
+    @Override
+    public String toString() {
+        return "AI tick " + tickNanos / 1000 + " us (repair " + repairNanos / 1000 + " us, " + expansions + " cells, plan "
+                + planNanos / 1000 + " us), " + deferred + " chasers deferred, max " + maxTickNanos / 1000 + " us, "
+                + overBudgetTicks + "/" + ticks + " ticks over " + BUDGET_MICROS + " us";
+    }
+}
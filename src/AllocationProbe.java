@@ -0,0 +1,111 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+// Counts the bytes the simulation allocates per tick, so garbage sneaking back into the tick shows up before it
+// turns into GC pauses in long sessions. In game it is enabled with -Dalloc.check=true and reports every tick
+// that allocated; run on its own it replays a level headless and exits with 1 if any steady-state tick allocated.
+public class AllocationProbe {
+    static final boolean ENABLED = Boolean.getBoolean("alloc.check");
+
+    // HotSpot's ThreadMXBean can count allocated bytes per thread
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long start;
+
+    // Starts counting on the current thread
+    static void begin() {
+        if (ENABLED) start = THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    // Bytes the current thread allocated since begin
+    static long end() {
+        return ENABLED ? THREADS.getCurrentThreadAllocatedBytes() - start : 0;
+    }
+
+    // Ends a section and reports it if it allocated
+    static void check(String section) {
+        long bytes = end();
+        if (bytes > 0) System.out.println(section + " allocated " + bytes + " bytes");
+    }
+
+    // Headless check, e.g. "java -Dalloc.check=true AllocationProbe level0.txt 8" replays level 0 tiled 8 x 8
+    // (so it has enough enemies to plan in parallel) with both players making and breaking ice
+    public static void main(String[] args) throws FileNotFoundException {
+        if (args.length < 1 || !ENABLED) {
+            System.out.println("Usage: java -Dalloc.check=true AllocationProbe <level.txt> [repeat]");
+            return;
+        }
+        int repeat = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int[][] level = LevelPack.readText(new File(args[0]), 18, 18);
+        int rows = 18 * repeat, cols = 18 * repeat, tileSize = 35;
+
+        // Tile the level, keeping one copy of each player spawn
+        int[][] map = new int[rows][cols];
+        int p1X = -1, p1Y = -1, p2X = -1, p2Y = -1;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int tile = level[r % 18][c % 18];
+                if (tile == 40 && p1X < 0) {
+                    p1X = c * tileSize;
+                    p1Y = r * tileSize;
+                } else if (tile == 41 && p2X < 0) {
+                    p2X = c * tileSize;
+                    p2Y = r * tileSize;
+                } else if (tile / 10 == 4) {
+                    tile = 6;
+                }
+                map[r][c] = tile;
+            }
+        }
+
+        EnemySystem enemies = new EnemySystem(rows, cols, tileSize);
+        enemies.clear();
+        Ice.reset(rows, cols);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                if (map[r][c] / 10 == 3 && EnemyTypes.isDefined(map[r][c] % 10)) enemies.add(map[r][c] % 10, c, r);
+            }
+        }
+        EnemySystem.levelAnalysis = LevelAnalyzer.analyze(map);
+
+        // Nobody gets caught, so both players stay in the game and every tick is a steady-state tick
+        Arrays.fill(EnemyTypes.catchRange, -1);
+
+        // Ticks are measured in windows after a warmup. A compile finishing mid-tick can show up as a one-off
+        // few hundred bytes even around empty code, so the check passes as soon as one whole window is clean;
+        // garbage made by the tick itself shows up in every window.
+        int warmup = 2000, window = 2000, tick = 0;
+        for (; tick < warmup; tick++) step(tick, map, enemies, p1X, p1Y, p2X, p2Y);
+        int allocating = 0;
+        for (int attempt = 1; attempt <= 3; attempt++) {
+            allocating = 0;
+            long worst = 0;
+            for (int end = tick + window; tick < end; tick++) {
+                begin();
+                step(tick, map, enemies, p1X, p1Y, p2X, p2Y);
+                long bytes = end();
+                if (bytes > 0) {
+                    allocating++;
+                    worst = Math.max(worst, bytes);
+                }
+            }
+            System.out.println(args[0] + " x" + repeat + ": " + enemies.size() + " enemies, " + allocating + "/" + window
+                    + " ticks allocated (worst " + worst + " bytes)");
+            if (allocating == 0) break;
+        }
+        if (allocating > 0) System.exit(1);
+    }
+
+    // One movement tick of the replay. Every second, each player turns, makes ice and breaks it again half a second later.
+    private static void step(int t, int[][] map, EnemySystem enemies, int p1X, int p1Y, int p2X, int p2Y) {
+        int d = t / 20 % 4, tileSize = enemies.tileSize;
+        if (t % 20 == 0) Ice.formIce(p1X, p1Y, EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+        if (t % 20 == 10) Ice.breakIce(p1X, p1Y, EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+        if (t % 20 == 5) Ice.formIce(p2X, p2Y, EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+        if (t % 20 == 15) Ice.breakIce(p2X, p2Y, EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+        Ice.tick(map);
+        enemies.tick(map, p1X, p1Y, p2X, p2Y);
+    }
+}
@@ -0,0 +1,240 @@
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+import javax.swing.SwingUtilities;
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+// Shared cache of decoded images, animation frames, fonts and GIFs, with parallel background loading
+public class Assets {
+    // Decoded assets keyed by path
+    private static final Map<String, BufferedImage> images = new ConcurrentHashMap<>();
+    private static final Map<String, List<BufferedImage>> frameLists = new ConcurrentHashMap<>();
+    private static final Map<String, Font> fonts = new ConcurrentHashMap<>();
+    private static final Map<String, ImageIcon> icons = new ConcurrentHashMap<>();
+
+    // Paths whose decoded format did not match the display and had to be converted on import
+    private static final Map<String, Integer> converted = new ConcurrentHashMap<>();
+
+    // Set -Dassets.report=true to print images that are off the accelerated path after each preload
+    private static final boolean REPORT = Boolean.getBoolean("assets.report");
+
+    // Loader pool used to decode assets in parallel off the Event Dispatch Thread
+    private static final ExecutorService loaders = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+        Thread t = new Thread(r, "asset-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Returns an image, decoding it on first use (null if it can't be read)
+    public static BufferedImage image(String path) {
+        BufferedImage img = images.get(path);
+        if (img == null) {
+            img = readImage(path);
+            if (img != null) images.put(path, img);
+        }
+        return img;
+    }
+
+    // Memory held by the decoded images (frame lists share the same images)
+    public static long cacheBytes() {
+        long total = 0;
+        for (BufferedImage image : images.values()) total += bytes(image);
+        return total;
+    }
+
+    // Size of an image's pixel data
+    static long bytes(BufferedImage image) {
+        DataBuffer data = image.getRaster().getDataBuffer();
+        return (long) data.getSize() * data.getNumBanks() * DataBuffer.getDataTypeSize(data.getDataType()) / 8;
+    }
+
+    // Returns all PNG frames in a folder sorted by file name, decoding them on first use
+    public static List<BufferedImage> frames(String dirPath) {
+        List<BufferedImage> frames = frameLists.get(dirPath);
+        if (frames == null) {
+            List<BufferedImage> loaded = new ArrayList<>();
+            for (File f : frameFiles(dirPath)) {
+                BufferedImage img = image(f.getPath());
+                if (img != null) loaded.add(img);
+            }
+            frames = Collections.unmodifiableList(loaded);
+            frameLists.put(dirPath, frames);
+        }
+        return frames;
+    }
+
+    // Returns a TrueType font at its default size, or null if it can't be read
+    public static Font font(String path) {
+        Font font = fonts.get(path);
+        if (font == null) {
+            try {
+                font = Font.createFont(Font.TRUETYPE_FONT, new File(path));
+                fonts.put(path, font);
+            } catch (IOException | FontFormatException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+        return font;
+    }
+
+    // Returns an animated GIF as an icon, loading it on first use
+    public static ImageIcon icon(String path) {
+        return icons.computeIfAbsent(path, ImageIcon::new);
+    }
+
+    // Returns true if every listed asset is already decoded
+    public static boolean isResident(String[] paths) {
+        for (String path : paths) {
+            boolean resident = switch (kind(path)) {
+                case "image" -> images.containsKey(path);
+                case "font" -> fonts.containsKey(path);
+                case "icon" -> icons.containsKey(path);
+                default -> frameLists.containsKey(path);
+            };
+            if (!resident) return false;
+        }
+        return true;
+    }
+
+    // Decodes the listed assets in parallel, reporting (loaded, total) progress on the Event Dispatch Thread
+    public static CompletableFuture<Void> preload(String[] paths, BiConsumer<Integer, Integer> progress) {
+        List<Runnable> tasks = new ArrayList<>();
+        List<Runnable> afterwards = new ArrayList<>();
+        for (String path : paths) {
+            switch (kind(path)) {
+                case "image" -> tasks.add(() -> image(path));
+                case "font" -> tasks.add(() -> font(path));
+                case "icon" -> tasks.add(() -> icon(path));
+                default -> {
+                    // Split folders into one task per frame, then assemble the list once they're all decoded
+                    if (frameLists.containsKey(path)) continue;
+                    for (File f : frameFiles(path)) tasks.add(() -> image(f.getPath()));
+                    afterwards.add(() -> frames(path));
+                }
+            }
+        }
+
+        AtomicInteger done = new AtomicInteger();
+        int total = tasks.size();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[total];
+        for (int i = 0; i < total; i++) {
+            Runnable task = tasks.get(i);
+            futures[i] = CompletableFuture.runAsync(() -> {
+                task.run();
+                int loaded = done.incrementAndGet();
+                if (progress != null) SwingUtilities.invokeLater(() -> progress.accept(loaded, total));
+            }, loaders);
+        }
+        return CompletableFuture.allOf(futures).thenRun(() -> {
+            afterwards.forEach(Runnable::run);
+            if (REPORT) report();
+        });
+    }
+
+    // Copies an image into a surface matching the display's pixel format, so it can be cached in video memory.
+    // Also used for getSubimage results, which would otherwise keep the whole parent raster alive.
+    public static BufferedImage compatible(BufferedImage source) {
+        BufferedImage copy = createImage(source.getWidth(), source.getHeight(), source.getTransparency());
+        Graphics2D g = copy.createGraphics();
+        g.drawImage(source, 0, 0, null);
+        g.dispose();
+        return copy;
+    }
+
+    // Creates a blank image in the display's pixel format (premultiplied ARGB when there is no display)
+    public static BufferedImage createImage(int width, int height, int transparency) {
+        GraphicsConfiguration gc = configuration();
+        if (gc != null) return gc.createCompatibleImage(width, height, transparency);
+        return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    // Returns true if the image already uses the display's pixel format
+    public static boolean isCompatible(BufferedImage img) {
+        GraphicsConfiguration gc = configuration();
+        if (gc == null) return img.getType() == BufferedImage.TYPE_INT_ARGB_PRE || img.getType() == BufferedImage.TYPE_INT_RGB;
+        return img.getColorModel().equals(gc.getColorModel(img.getTransparency())) && img.getRaster().getParent() == null;
+    }
+
+    // Lists cached images that were converted on import or are not currently accelerated
+    public static List<String> report() {
+        List<String> lines = new ArrayList<>();
+        GraphicsConfiguration gc = configuration();
+        for (Map.Entry<String, BufferedImage> entry : images.entrySet()) {
+            String path = entry.getKey();
+            BufferedImage img = entry.getValue();
+            if (converted.containsKey(path)) lines.add(path + ": converted from type " + converted.get(path));
+            if (gc != null && !img.getCapabilities(gc).isAccelerated()) lines.add(path + ": not accelerated");
+            if (!isCompatible(img)) lines.add(path + ": incompatible format");
+        }
+        Collections.sort(lines);
+        for (String line : lines) System.out.println(line);
+        return lines;
+    }
+
+    // Default screen configuration, or null when running headless
+    private static GraphicsConfiguration configuration() {
+        if (GraphicsEnvironment.isHeadless()) return null;
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    }
+
+    // Classifies an asset path by its extension (folders hold animation frames)
+    private static String kind(String path) {
+        if (path.endsWith(".png")) return "image";
+        if (path.endsWith(".ttf")) return "font";
+        if (path.endsWith(".gif")) return "icon";
+        return "frames";
+    }
+
+    // Lists the PNG files of an animation folder in frame order
+    private static File[] frameFiles(String dirPath) {
+        File[] files = new File(dirPath).listFiles((_, name) -> name.endsWith(".png"));
+        if (files == null) return new File[0];
+        Arrays.sort(files);
+        return files;
+    }
+
+    private static BufferedImage readImage(String path) {
+        GameEvents.AssetLoad event = GameEvents.ASSET_LOAD.isEnabled() ? new GameEvents.AssetLoad() : null;
+        if (event != null) {
+            event.begin();
+            event.path = path;
+            event.bytes = new File(path).length();
+        }
+        try {
+            BufferedImage img = ImageIO.read(new File(path));
+            if (img == null) {
+                System.out.println("Unsupported image format: " + path);
+                return null;
+            }
+            // Import stage: every sprite is stored in the display's format
+            if (isCompatible(img)) return img;
+            converted.put(path, img.getType());
+            if (event != null) event.converted = true;
+            return compatible(img);
+        } catch (IOException e) {
+            System.out.println(path + ": " + e.getMessage());
+            return null;
+        } finally {
+            if (event != null) event.commit();
+        }
+    }
+}
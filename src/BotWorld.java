@@ -0,0 +1,444 @@
+import java.util.Arrays;
+
+// Headless copy of a level for the bot to search over: tiles, both players and the enemies in flat arrays that
+// copyFrom duplicates without allocating. It follows the game's rules closely enough to plan with - enemies use
+// the movement policies from enemies.txt on the same tick clock - but ice trails form and break in one go and
+// chasers follow the shortest path through the level's fixed walls rather than the live distance fields.
+public class BotWorld {
+    // Tile codes (the game's codes are folded into these when a level is captured)
+    static final int BLOCKED = 0, GROUND = 1, FRUIT_A = 2, FRUIT_B = 3;
+
+    // Set on a tile covered by ice, over ground or fruit
+    static final int ICE = 4;
+
+    // Movement ticks per player move (the game lets each player act every 150 ms)
+    static final int TICKS_PER_MOVE = 150 / EnemySystem.TICK_MS;
+
+    // Movement action bits by direction code
+    private static final int[] DIRECTION_ACTIONS = {PlayerInput.UP, PlayerInput.RIGHT, PlayerInput.DOWN, PlayerInput.LEFT};
+
+    // Direction order chasers try, as in EnemySystem
+    private static final int[] STEP_ORDER = {EnemySystem.DOWN, EnemySystem.RIGHT, EnemySystem.UP, EnemySystem.LEFT};
+
+    // Levels with more tiles than this route chasers straight at their target instead of through a path table
+    private static final int MAX_ROUTE_CELLS = 2048;
+
+    // Distance to the next fruit beyond which being closer no longer counts, in moves
+    private static final int REACH = 40;
+
+    // How much less a fruit is worth for each move it takes to collect, and the progress that scores half marks
+    private static final double DISCOUNT = 0.8;
+    private static final double HALF = 1;
+
+    final int rows, cols;
+
+    // Player the bot controls (0 or 1)
+    final int me;
+
+    int[] tiles;
+
+    // Enemy index + 1 standing on each tile (0 when empty)
+    int[] occupant;
+
+    // Players: tile, facing direction code and whether they are still in the game
+    final int[] playerCell = new int[2], playerDir = new int[2];
+    final boolean[] playerAlive = new boolean[2];
+
+    // Fruit left in each set, and fruit the bot has collected since the state was captured
+    int fruitA, fruitB, collected;
+
+    // Fruit collected since the capture, each counting DISCOUNT times less for every move it took to get there,
+    // and what the next one would count for
+    double progress, worth;
+
+    // Enemies: type, tile, direction, ticks until the next move, ticks left breaking ice and the tile being broken
+    int count;
+    int[] type = new int[0], cell = new int[0], dir = new int[0], wait = new int[0];
+    int[] breakLeft = new int[0], breakCell = new int[0];
+
+    // Random walks of chasers with nowhere to go
+    int rng = 1;
+
+    // Tiles between every pair of tiles through the level's walls (Short.MAX_VALUE if unreachable), shared by
+    // every copy; null on levels too big for the table
+    short[] routes;
+
+    // Scratch space for nearestFruit (each copy has its own, so copies can be searched on different threads)
+    private final int[] dist, seen, first, bucketSize = new int[3];
+    private final int[][] buckets;
+    private int stamp = 0, firstStep;
+
+    public BotWorld(int rows, int cols, int me) {
+        this.rows = rows;
+        this.cols = cols;
+        this.me = me;
+        tiles = new int[rows * cols];
+        occupant = new int[rows * cols];
+        dist = new int[rows * cols];
+        seen = new int[rows * cols];
+        first = new int[rows * cols];
+        buckets = new int[3][rows * cols * 2];
+    }
+
+    // Reads the live game: the map (with the tiles hidden under players and enemies) and every enemy's state
+    public void capture(int[][] map, int[][] underPlayer, EnemySystem enemies, int fruitACount, int fruitBCount) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int tile = map[r][c];
+                if (tile / 10 == 3) tile = EnemySystem.storedFruits[r][c] != 0 ? EnemySystem.storedFruits[r][c] : 6;
+                if (tile / 10 == 4) tile = underPlayer[r][c] != 0 ? underPlayer[r][c] : 6;
+                tiles[r * cols + c] = fold(tile, r, c);
+            }
+        }
+        if (routes == null && rows * cols <= MAX_ROUTE_CELLS) routes = buildRoutes();
+
+        ensureCapacity(enemies.count);
+        count = enemies.count;
+        Arrays.fill(occupant, 0);
+        int now = enemies.currentTick();
+        for (int i = 0; i < count; i++) {
+            type[i] = enemies.type[i];
+            cell[i] = enemies.row[i] * cols + enemies.col[i];
+            dir[i] = enemies.dir[i];
+            wait[i] = Math.max(1, enemies.nextMoveTick[i] - now);
+            boolean breaking = enemies.state[i] == EnemySystem.BREAKING;
+            breakLeft[i] = breaking ? Math.max(1, enemies.breakUntilTick[i] - now) : 0;
+            breakCell[i] = enemies.breakRow[i] * cols + enemies.breakCol[i];
+            occupant[cell[i]] = i + 1;
+        }
+        fruitA = fruitACount;
+        fruitB = fruitBCount;
+        rebase();
+    }
+
+    // Counts progress from the current state (the search scores moves by what they add to it)
+    void rebase() {
+        collected = 0;
+        progress = 0;
+        worth = 1;
+    }
+
+    // Sets a player's tile, facing direction and whether they are still in the game
+    public void setPlayer(int player, int c, int r, int direction, boolean alive) {
+        playerCell[player] = r * cols + c;
+        playerDir[player] = direction;
+        playerAlive[player] = alive;
+    }
+
+    // Makes this world an exact copy of another of the same size
+    public void copyFrom(BotWorld other) {
+        System.arraycopy(other.tiles, 0, tiles, 0, tiles.length);
+        System.arraycopy(other.occupant, 0, occupant, 0, occupant.length);
+        System.arraycopy(other.playerCell, 0, playerCell, 0, 2);
+        System.arraycopy(other.playerDir, 0, playerDir, 0, 2);
+        System.arraycopy(other.playerAlive, 0, playerAlive, 0, 2);
+        fruitA = other.fruitA;
+        fruitB = other.fruitB;
+        collected = other.collected;
+        progress = other.progress;
+        worth = other.worth;
+        ensureCapacity(other.count);
+        count = other.count;
+        System.arraycopy(other.type, 0, type, 0, count);
+        System.arraycopy(other.cell, 0, cell, 0, count);
+        System.arraycopy(other.dir, 0, dir, 0, count);
+        System.arraycopy(other.wait, 0, wait, 0, count);
+        System.arraycopy(other.breakLeft, 0, breakLeft, 0, count);
+        System.arraycopy(other.breakCell, 0, breakCell, 0, count);
+        rng = other.rng;
+        routes = other.routes;
+    }
+
+    // True once the bot's player has been caught or every fruit is gone
+    boolean over() {
+        return !playerAlive[me] || cleared();
+    }
+
+    boolean cleared() {
+        return fruitA == 0 && fruitB == 0;
+    }
+
+    // Plays one move of the bot's player (a PlayerInput action bit, or 0 to stand still), then the enemy ticks
+    // until it can act again
+    void step(int action) {
+        if (action == PlayerInput.ACTION) useIce(me);
+        else if (action != 0) move(me, directionOf(action));
+        worth *= DISCOUNT;
+        for (int t = 0; t < TICKS_PER_MOVE && !over(); t++) tickEnemies();
+    }
+
+    // How good the position is for the bot, from 0 (caught) to 1 (level cleared): fruit collected soon counts
+    // most, then being close to the next fruit
+    double evaluate() {
+        if (!playerAlive[me]) return 0;
+        if (cleared()) return 1;
+        double reach = 1 - Math.min(nearestFruit(), REACH) / (double) REACH;
+        return 0.1 + 0.7 * progress / (progress + HALF) + 0.2 * reach;
+    }
+
+    // Move that heads for the closest fruit: a step, a turn to face ice in the way, or using ice to break it
+    // (0 if no fruit is near). Used to steer the search's random playouts.
+    int towardFruit() {
+        if (nearestFruit() == REACH) return 0;
+        if (firstStep < 0) return 0;
+        int next = neighbour(playerCell[me], firstStep);
+        if ((tiles[next] & ICE) != 0 && playerDir[me] == firstStep) return PlayerInput.ACTION;
+        return DIRECTION_ACTIONS[firstStep];
+    }
+
+    // Moves from the bot's player to the closest fruit it can collect, where each ice tile on the way costs two
+    // (turning to break it, then stepping in); REACH if none is nearer. Leaves the direction of the first step
+    // there in firstStep. Searches outwards with one bucket per distance, reusing three buckets since no step
+    // costs more than two.
+    private int nearestFruit() {
+        stamp++;
+        int start = playerCell[me];
+        seen[start] = stamp;
+        dist[start] = 0;
+        first[start] = -1;
+        buckets[0][0] = start;
+        bucketSize[0] = 1;
+        bucketSize[1] = 0;
+        bucketSize[2] = 0;
+        int pending = 1;
+        for (int d = 0; pending > 0 && d < REACH; d++) {
+            int b = d % 3, n = bucketSize[b];
+            bucketSize[b] = 0;
+            pending -= n;
+            for (int k = 0; k < n; k++) {
+                int at = buckets[b][k];
+                if (dist[at] != d) continue;
+                if (collectable(tiles[at] & ~ICE)) {
+                    firstStep = first[at];
+                    return d;
+                }
+                for (int dir = 0; dir < 4; dir++) {
+                    int next = neighbour(at, dir);
+                    if (next < 0 || tiles[next] == BLOCKED) continue;
+                    int nd = d + ((tiles[next] & ICE) != 0 ? 2 : 1);
+                    if (seen[next] == stamp && dist[next] <= nd) continue;
+                    seen[next] = stamp;
+                    dist[next] = nd;
+                    first[next] = at == start ? dir : first[at];
+                    buckets[nd % 3][bucketSize[nd % 3]++] = next;
+                    pending++;
+                }
+            }
+        }
+        firstStep = -1;
+        return REACH;
+    }
+
+    // Turns a player to face a direction and steps that way if the tile is free, collecting fruit on it
+    private void move(int player, int d) {
+        playerDir[player] = d;
+        int next = neighbour(playerCell[player], d);
+        if (next < 0 || occupant[next] != 0) return;
+        int tile = tiles[next];
+        if (tile == BLOCKED || (tile & ICE) != 0) return;
+        int other = playerCell[1 - player];
+        if (next == other && playerAlive[1 - player]) return;
+        playerCell[player] = next;
+        if (collectable(tile)) {
+            tiles[next] = GROUND;
+            if (tile == FRUIT_A) fruitA--;
+            else fruitB--;
+            if (player == me) {
+                collected++;
+                progress += worth;
+            }
+        }
+    }
+
+    // Breaks the ice trail in front of a player, or forms one until it reaches something in the way
+    private void useIce(int player) {
+        int d = playerDir[player];
+        int next = neighbour(playerCell[player], d);
+        if (next >= 0 && (tiles[next] & ICE) != 0) {
+            for (; next >= 0 && (tiles[next] & ICE) != 0; next = neighbour(next, d)) tiles[next] &= ~ICE;
+            return;
+        }
+        int other = playerCell[1 - player];
+        for (; next >= 0; next = neighbour(next, d)) {
+            int tile = tiles[next];
+            if (tile == BLOCKED || (tile & ICE) != 0 || occupant[next] != 0) return;
+            if (next == other && playerAlive[1 - player]) return;
+            tiles[next] |= ICE;
+        }
+    }
+
+    // One movement tick for every enemy, following the rules in EnemySystem
+    private void tickEnemies() {
+        for (int i = 0; i < count; i++) {
+            if (breakLeft[i] > 0) {
+                if (--breakLeft[i] == 0) tiles[breakCell[i]] &= ~ICE;
+                continue;
+            }
+            if (--wait[i] > 0) continue;
+            int t = type[i];
+            int d = switch (EnemyTypes.policy[t]) {
+                case EnemyTypes.CHASE -> chaseDirection(i);
+                case EnemyTypes.DIRECT -> directDirection(i);
+                default -> dir[i];
+            };
+
+            // No target: try again next tick
+            if (d < 0) {
+                wait[i] = 1;
+                continue;
+            }
+            int next = neighbour(cell[i], d);
+            int tile = next < 0 ? BLOCKED : tiles[next];
+            if (tile != BLOCKED && (tile & ICE) == 0) {
+                if (occupant[next] != 0) {
+                    // Another enemy is there; patrols turn away, the others wait a tick
+                    if (EnemyTypes.policy[t] != EnemyTypes.PATROL) {
+                        wait[i] = 1;
+                        continue;
+                    }
+                    d = (d + 1) & 3;
+                } else {
+                    occupant[cell[i]] = 0;
+                    cell[i] = next;
+                    occupant[next] = i + 1;
+                }
+            } else if ((tile & ICE) != 0 && EnemyTypes.ice[t] == EnemyTypes.ICE_BREAKS) {
+                breakLeft[i] = EnemyTypes.breakTicks[t];
+                breakCell[i] = next;
+            } else if (EnemyTypes.policy[t] == EnemyTypes.PATROL) {
+                d = (d + 1) & 3;
+            }
+            dir[i] = d;
+            wait[i] = EnemyTypes.moveTicks[t];
+
+            // Catch players within range
+            int range = EnemyTypes.catchRange[t];
+            for (int p = 0; p < 2; p++) {
+                if (playerAlive[p] && manhattan(cell[i], playerCell[p]) <= range) playerAlive[p] = false;
+            }
+        }
+    }
+
+    // Direction of the step along the shortest path to the closest player, or a random one if there is no path
+    private int chaseDirection(int i) {
+        int target = closestPlayer(i);
+        if (target < 0) return -1;
+        boolean breaks = EnemyTypes.ice[type[i]] == EnemyTypes.ICE_BREAKS;
+        int best = -1, bestDist = Integer.MAX_VALUE;
+        for (int d : STEP_ORDER) {
+            int next = neighbour(cell[i], d);
+            if (next < 0 || tiles[next] == BLOCKED || ((tiles[next] & ICE) != 0 && !breaks)) continue;
+            int dist = distance(next, playerCell[target]);
+            if (dist < bestDist) {
+                best = d;
+                bestDist = dist;
+            }
+        }
+        if (best >= 0 && bestDist != Short.MAX_VALUE) return best;
+
+        // Nobody reachable: wander onto any free tile
+        rng ^= rng << 13;
+        rng ^= rng >>> 17;
+        rng ^= rng << 5;
+        for (int k = 0; k < 4; k++) {
+            int d = (rng + k) & 3;
+            int next = neighbour(cell[i], d);
+            if (next >= 0 && tiles[next] != BLOCKED && (tiles[next] & ICE) == 0 && occupant[next] == 0) return d;
+        }
+        return -1;
+    }
+
+    // Direction along the longest axis towards the closest player
+    private int directDirection(int i) {
+        int target = closestPlayer(i);
+        if (target < 0) return -1;
+        int dc = playerCell[target] % cols - cell[i] % cols, dr = playerCell[target] / cols - cell[i] / cols;
+        if (Math.abs(dc) >= Math.abs(dr)) {
+            if (dc != 0) return dc > 0 ? EnemySystem.RIGHT : EnemySystem.LEFT;
+        }
+        return dr < 0 ? EnemySystem.UP : EnemySystem.DOWN;
+    }
+
+    // Closest player still in the game (player 0 on a tie), or -1 if both have been caught
+    private int closestPlayer(int i) {
+        if (!playerAlive[0] && !playerAlive[1]) return -1;
+        if (!playerAlive[1]) return 0;
+        if (!playerAlive[0]) return 1;
+        return manhattan(cell[i], playerCell[1]) < manhattan(cell[i], playerCell[0]) ? 1 : 0;
+    }
+
+    // True if a tile holds fruit from the set currently being collected
+    boolean collectable(int tile) {
+        return tile == FRUIT_A && fruitA > 0 || tile == FRUIT_B && fruitA == 0;
+    }
+
+    // Tiles between two tiles through the walls, or straight across on levels without a path table (for chasers)
+    int distance(int from, int to) {
+        return routes != null ? routes[from * tiles.length + to] : manhattan(from, to);
+    }
+
+    private int manhattan(int a, int b) {
+        return Math.abs(a % cols - b % cols) + Math.abs(a / cols - b / cols);
+    }
+
+    // Tile next to a tile in a direction, or -1 off the edge of the map
+    int neighbour(int from, int d) {
+        int c = from % cols + EnemySystem.DX[d], r = from / cols + EnemySystem.DY[d];
+        return c < 0 || r < 0 || c >= cols || r >= rows ? -1 : r * cols + c;
+    }
+
+    // Direction code of a movement action bit
+    static int directionOf(int action) {
+        return switch (action) {
+            case PlayerInput.LEFT -> EnemySystem.LEFT;
+            case PlayerInput.RIGHT -> EnemySystem.RIGHT;
+            case PlayerInput.UP -> EnemySystem.UP;
+            default -> EnemySystem.DOWN;
+        };
+    }
+
+    // Folds a game tile code into the bot's codes
+    private int fold(int tile, int r, int c) {
+        if (tile == 6) return GROUND;
+        if (tile / 100 == 5) return tile % 10 == 0 ? FRUIT_A : FRUIT_B;
+        if (tile == 2) {
+            int under = Ice.storedFruits()[r][c];
+            return ICE | (under / 100 == 5 ? (under % 10 == 0 ? FRUIT_A : FRUIT_B) : GROUND);
+        }
+        return BLOCKED;
+    }
+
+    // Breadth-first search from every tile that isn't a wall (ice counts as open, since it comes and goes)
+    private short[] buildRoutes() {
+        int n = tiles.length;
+        short[] table = new short[n * n];
+        Arrays.fill(table, Short.MAX_VALUE);
+        int[] queue = new int[n];
+        for (int from = 0; from < n; from++) {
+            if (tiles[from] == BLOCKED) continue;
+            int base = from * n, head = 0, tail = 0;
+            table[base + from] = 0;
+            queue[tail++] = from;
+            while (head < tail) {
+                int at = queue[head++];
+                for (int d = 0; d < 4; d++) {
+                    int next = neighbour(at, d);
+                    if (next < 0 || tiles[next] == BLOCKED || table[base + next] != Short.MAX_VALUE) continue;
+                    table[base + next] = (short) (table[base + at] + 1);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return table;
+    }
+
+    private void ensureCapacity(int n) {
+        if (type.length >= n) return;
+        type = Arrays.copyOf(type, n);
+        cell = Arrays.copyOf(cell, n);
+        dir = Arrays.copyOf(dir, n);
+        wait = Arrays.copyOf(wait, n);
+        breakLeft = Arrays.copyOf(breakLeft, n);
+        breakCell = Arrays.copyOf(breakCell, n);
+    }
+}
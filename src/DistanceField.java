@@ -0,0 +1,230 @@
+import java.util.Arrays;
+
+// Shortest distance from a source (a player) to every tile, kept up to date incrementally in the style of
+// Lifelong Planning A*. When tiles open or close only the cells whose distance changes are repaired, and every
+// repair stops as soon as the tiles the chasers stand on are settled, so far corners of a big map are never
+// searched. Moving the source shifts almost every distance, so it replans from scratch instead (the same
+// early-stopping search, which is cheaper than patching every cell twice).
+public class DistanceField {
+    // Distance of unreachable cells and cost of blocked ones
+    static final int INF = Integer.MAX_VALUE / 2;
+
+    final int rows, cols;
+
+    // Cost of stepping onto each cell (INF when blocked)
+    private final int[] cost;
+
+    // Current distance estimate (g) and the one-step lookahead from the neighbours (rhs); a cell is settled when they match
+    private final int[] g, rhs;
+
+    // Unsettled cells ordered by min(g, rhs)
+    private final CellQueue open;
+
+    // Cell the distances are measured from, -1 before the first source is set
+    private int source = -1;
+
+    // Smallest key still waiting for repair: cells whose settled distance is at most this are exact
+    private int settledBelow = INF;
+
+    // False while a repair cut short by its budget is still in progress
+    private boolean finished = true;
+
+    // Cells expanded since the field was created, for profiling
+    long expansions = 0;
+
+    public DistanceField(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        cost = new int[rows * cols];
+        g = new int[rows * cols];
+        rhs = new int[rows * cols];
+        open = new CellQueue(rows * cols);
+        Arrays.fill(cost, INF);
+        reset();
+    }
+
+    // Forgets every distance; the next settle plans from scratch
+    public void reset() {
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        open.clear();
+        settledBelow = INF;
+        finished = true;
+        if (source >= 0) update(source);
+    }
+
+    // Changes the cost of stepping onto a cell, queuing it for repair if it differs
+    public void setCost(int cell, int value) {
+        if (cost[cell] == value) return;
+        cost[cell] = value;
+        update(cell);
+    }
+
+    // Moves the source; the next settle replans from the new cell
+    public void moveSource(int cell) {
+        if (cell == source) return;
+        source = cell;
+        reset();
+    }
+
+    // Current distance of a cell (exact once the cell is settled)
+    public int distance(int cell) {
+        return g[cell];
+    }
+
+    // True if a cell's distance is exact. Only reads the field, so chasers can check it while planning in parallel.
+    public boolean isSettled(int cell) {
+        return g[cell] == rhs[cell] && g[cell] <= settledBelow;
+    }
+
+    // True unless the last repair ran out of budget before settling its cells
+    public boolean finished() {
+        return finished;
+    }
+
+    // Repairs the field until every listed cell is settled, or until at most budget cells have been expanded.
+    // Returns false if the budget ran out first; the repair then resumes from the same point on the next call.
+    public boolean settle(int[] cells, int n, int budget) {
+        finished = repair(cells, n, budget);
+        settledBelow = open.isEmpty() ? INF : open.topKey();
+        return finished;
+    }
+
+    private boolean repair(int[] cells, int n, int budget) {
+        while (!open.isEmpty()) {
+            // Largest key among the targets, and whether any of them is still unsettled
+            int bound = 0;
+            boolean unsettled = false;
+            for (int k = 0; k < n; k++) {
+                int c = cells[k];
+                bound = Math.max(bound, Math.min(g[c], rhs[c]));
+                if (g[c] != rhs[c]) unsettled = true;
+            }
+            if (!unsettled && open.topKey() >= bound) return true;
+
+            // Expand everything ordered before the bound (at least one cell) before checking the targets again
+            do {
+                if (budget-- <= 0) return false;
+                expand(open.pop());
+            } while (!open.isEmpty() && open.topKey() < bound);
+        }
+        return true;
+    }
+
+    // Number of cells waiting for repair
+    public int pending() {
+        return open.size();
+    }
+
+    // Settles one cell, propagating the change to its neighbours
+    private void expand(int cell) {
+        expansions++;
+        if (g[cell] > rhs[cell]) {
+            // Distance went down: accept it
+            g[cell] = rhs[cell];
+        } else {
+            // Distance went up: invalidate and recompute from the neighbours
+            g[cell] = INF;
+            update(cell);
+        }
+        int r = cell / cols, c = cell % cols;
+        if (r > 0) update(cell - cols);
+        if (r < rows - 1) update(cell + cols);
+        if (c > 0) update(cell - 1);
+        if (c < cols - 1) update(cell + 1);
+    }
+
+    // Recomputes a cell's lookahead distance and queues it if it no longer matches its estimate
+    private void update(int cell) {
+        if (cell == source) {
+            rhs[cell] = 0;
+        } else if (cost[cell] >= INF) {
+            rhs[cell] = INF;
+        } else {
+            int r = cell / cols, c = cell % cols;
+            int best = INF;
+            if (r > 0) best = Math.min(best, g[cell - cols]);
+            if (r < rows - 1) best = Math.min(best, g[cell + cols]);
+            if (c > 0) best = Math.min(best, g[cell - 1]);
+            if (c < cols - 1) best = Math.min(best, g[cell + 1]);
+            rhs[cell] = best >= INF ? INF : Math.min(INF, best + cost[cell]);
+        }
+        if (g[cell] != rhs[cell]) {
+            int key = Math.min(g[cell], rhs[cell]);
+            open.upsert(cell, key);
+            if (key < settledBelow) settledBelow = key;
+        } else {
+            open.remove(cell);
+        }
+    }
+}
+
+// Priority queue of cells keyed by small non-negative ints (distances), one linked list per key. Keys are
+// bounded by the longest path on the map, so insert, re-key and remove are O(1) and popping scans forward
+// from the smallest key seen.
+class CellQueue {
+    // Cells in each key's list and the links between them
+    private int[] head = new int[256];
+    private final int[] next, prev, keys;
+    private int size = 0, min = 0;
+
+    CellQueue(int capacity) {
+        next = new int[capacity];
+        prev = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(keys, -1);
+        Arrays.fill(head, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int topKey() {
+        while (head[min] < 0) min++;
+        return min;
+    }
+
+    void clear() {
+        while (size > 0) remove(head[topKey()]);
+        min = 0;
+    }
+
+    // Inserts a cell or changes its key
+    void upsert(int cell, int key) {
+        if (keys[cell] == key) return;
+        remove(cell);
+        if (key >= head.length) {
+            int old = head.length;
+            head = Arrays.copyOf(head, Math.max(key + 1, old * 2));
+            Arrays.fill(head, old, head.length, -1);
+        }
+        keys[cell] = key;
+        prev[cell] = -1;
+        next[cell] = head[key];
+        if (head[key] >= 0) prev[head[key]] = cell;
+        head[key] = cell;
+        size++;
+        if (key < min) min = key;
+    }
+
+    void remove(int cell) {
+        int key = keys[cell];
+        if (key < 0) return;
+        if (prev[cell] >= 0) next[prev[cell]] = next[cell];
+        else head[key] = next[cell];
+        if (next[cell] >= 0) prev[next[cell]] = prev[cell];
+        keys[cell] = -1;
+        size--;
+    }
+
+    int pop() {
+        int cell = head[topKey()];
+        remove(cell);
+        return cell;
+    }
+}
@@ -0,0 +1,609 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// All enemies of a level stored as parallel primitive arrays. Each tick every ready enemy plans its action
+// against the same map (in parallel batches on large levels), then moves are reserved and committed in index
+// order, so two enemies never claim the same tile and the outcome does not depend on thread timing.
+// What each enemy does comes from the tables EnemyTypes compiles from enemies.txt.
+public class EnemySystem {
+    // Fruits (and players) hidden under enemies, restored when they move on, by row and column (0 where nothing is stored)
+    static int[][] storedFruits = new int[1][1];
+
+    // Precomputed analysis of the current level (regions, territories), set when the level loads
+    static LevelAnalysis levelAnalysis;
+
+    // Length of one movement tick; enemy delays are counted in ticks
+    static final int TICK_MS = 50;
+
+    // Direction codes (same as the snapshot encoder) and their tile offsets
+    static final int UP = 0, RIGHT = 1, DOWN = 2, LEFT = 3;
+    static final int[] DX = {0, 1, 0, -1};
+    static final int[] DY = {-1, 0, 1, 0};
+
+    // Neighbour order chasers use when choosing a step (down, right, up, left)
+    private static final int[] STEP_ORDER = {DOWN, RIGHT, UP, LEFT};
+
+    // Enemy states
+    static final int WALKING = 0, BREAKING = 1;
+
+    // Planned actions
+    static final int WAIT = 0, MOVE = 1, TURN = 2, BREAK = 3, FINISH_BREAK = 4;
+
+    // Enemies planned per batch; levels with more than one batch are planned across cores
+    private static final int BATCH = 64;
+
+    final int rows, cols, tileSize;
+
+    // Per-enemy state
+    int count = 0;
+    int[] type = new int[16], col = new int[16], row = new int[16], dir = new int[16];
+    int[] state = new int[16], anim = new int[16], rng = new int[16];
+    int[] breakCol = new int[16], breakRow = new int[16];
+    int[] nextMoveTick = new int[16], breakUntilTick = new int[16];
+
+    // Plan written by each enemy for the current tick
+    int[] action = new int[16], planCol = new int[16], planRow = new int[16], planDir = new int[16];
+
+    // One planning task per batch, kept between ticks so planning in parallel allocates nothing
+    private PlanTask[] planTasks = new PlanTask[0];
+
+    // Enemy index + 1 standing on each tile (0 when empty), and which enemy reserved each tile this tick
+    private final int[] occupant;
+    private final int[] reservedTick;
+    private int tick = 0;
+
+    // Chasers are routed in groups that share a cost for every tile: group 0 holds the types ice stops (every
+    // step costs the same), and each type that breaks ice gets its own group where ice costs its break time
+    private final int[] routeGroup = new int[EnemyTypes.MAX_TYPES];
+    private final int[] groupType;
+
+    // Cost to every tile from each player, per route group, repaired incrementally as the map changes.
+    // Created when the first chaser of a group is added.
+    private final DistanceField[][] fields;
+    private boolean fieldsStale = true;
+
+    // Tiles each field has to settle this tick (the chasers of that group heading for that player), and the
+    // tile distance from the player to the nearest of them
+    private final int[][][] targets;
+    private final int[][] targetCount, nearest;
+
+    // Fields with chasers to settle this tick, as group * 2 + player, nearest chasers first
+    private final int[] repairOrder;
+
+    // Time spent on AI each tick
+    final AiBudget budget = new AiBudget();
+
+    // Tiles whose walkability changed since the last tick, packed as row << 16 | col
+    private static int[] changedTiles = new int[64];
+    private static int changedCount = 0;
+
+    // Player positions and status for the tick being planned
+    private int p1X, p1Y, p2X, p2Y;
+    private boolean p1Alive, p2Alive;
+
+    public EnemySystem(int rows, int cols, int tileSize) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        occupant = new int[rows * cols];
+        reservedTick = new int[rows * cols];
+
+        int groups = 1;
+        for (int t = 0; t < EnemyTypes.MAX_TYPES; t++) {
+            if (EnemyTypes.breaksIce(t)) routeGroup[t] = groups++;
+        }
+        groupType = new int[groups];
+        for (int t = 0; t < EnemyTypes.MAX_TYPES; t++) {
+            if (routeGroup[t] > 0) groupType[routeGroup[t]] = t;
+        }
+        fields = new DistanceField[groups][];
+        targets = new int[groups][2][16];
+        targetCount = new int[groups][2];
+        nearest = new int[groups][2];
+        repairOrder = new int[groups * 2];
+    }
+
+    // Removes every enemy and any fruit they were hiding
+    public void clear() {
+        count = 0;
+        tick = 0;
+        Arrays.fill(occupant, 0);
+        Arrays.fill(reservedTick, 0);
+        if (storedFruits.length != rows || storedFruits[0].length != cols) storedFruits = new int[rows][cols];
+        else for (int[] r : storedFruits) Arrays.fill(r, 0);
+        fieldsStale = true;
+        budget.reset();
+        planTasks = new PlanTask[0];
+    }
+
+    // Records that ice formed or broke on a tile, so the distance fields repair around it on the next tick
+    static void tileChanged(int c, int r) {
+        if (changedCount == changedTiles.length) changedTiles = Arrays.copyOf(changedTiles, changedCount * 2);
+        changedTiles[changedCount++] = r << 16 | c;
+    }
+
+    // Adds an enemy of the given type on a tile, seeding its random walk from its spawn position
+    public void add(int enemyType, int c, int r) {
+        if (count == type.length) grow();
+        int i = count++;
+        type[i] = enemyType;
+        col[i] = c;
+        row[i] = r;
+        dir[i] = EnemyTypes.startDir[enemyType];
+        state[i] = WALKING;
+        anim[i] = 0;
+        rng[i] = (r * cols + c) * 0x9E3779B9 | 1;
+        nextMoveTick[i] = tick + EnemyTypes.moveTicks[enemyType];
+        occupant[r * cols + c] = i + 1;
+        if (count > planTasks.length * BATCH) {
+            planTasks = Arrays.copyOf(planTasks, planTasks.length + 1);
+            planTasks[planTasks.length - 1] = new PlanTask(planTasks.length - 1);
+        }
+
+        // First chaser of its group: route it from the next tick
+        int g = routeGroup[enemyType];
+        if (EnemyTypes.policy[enemyType] == EnemyTypes.CHASE && fields[g] == null) {
+            fields[g] = new DistanceField[]{new DistanceField(rows, cols), new DistanceField(rows, cols)};
+            fieldsStale = true;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Movement ticks run since the level started (the clock nextMoveTick and breakUntilTick count on)
+    int currentTick() {
+        return tick;
+    }
+
+    // Advances every enemy by one movement tick
+    public void tick(int[][] map, int player1X, int player1Y, int player2X, int player2Y) {
+        tick++;
+        if (count == 0) return;
+        p1X = player1X;
+        p1Y = player1Y;
+        p2X = player2X;
+        p2Y = player2Y;
+        p1Alive = !Helper.player1Collided;
+        p2Alive = !Helper.player2Collided;
+
+        // Distance fields are repaired once for all chasers, within the tick's budget
+        budget.begin(expansions());
+        int deferred = updateFields(map);
+        budget.repaired(expansions(), deferred);
+
+        // Plan phase: enemies only read the map, so batches can run on separate cores
+        if (count > BATCH) {
+            for (PlanTask task : planTasks) {
+                task.reinitialize();
+                task.map = map;
+            }
+            ForkJoinTask.invokeAll(planTasks);
+        } else {
+            planBatch(map, 0, count);
+        }
+
+        // Reserve phase: the lowest index claims a contested tile, the others wait for the next tick
+        for (int i = 0; i < count; i++) {
+            if (action[i] != MOVE) continue;
+            int cell = planRow[i] * cols + planCol[i];
+            if (reservedTick[cell] == tick || occupant[cell] != 0) action[i] = WAIT;
+            else reservedTick[cell] = tick;
+        }
+
+        // Commit phase, in index order
+        boolean p1Before = Helper.player1Collided, p2Before = Helper.player2Collided;
+        for (int i = 0; i < count; i++) commit(map, i);
+        budget.end();
+        if (Helper.player1Collided != p1Before || Helper.player2Collided != p2Before) Helper.checkGameOver();
+    }
+
+    // Plans enemies [from, to). Runs concurrently for different batches, so it only reads the map
+    // and writes each enemy's own slots.
+    private void planBatch(int[][] map, int from, int to) {
+        for (int i = from; i < to; i++) {
+            action[i] = WAIT;
+            if (state[i] == BREAKING) {
+                if (tick >= breakUntilTick[i]) action[i] = FINISH_BREAK;
+                continue;
+            }
+            if (tick < nextMoveTick[i]) continue;
+            switch (EnemyTypes.policy[type[i]]) {
+                case EnemyTypes.PATROL -> planPatrol(i, map);
+                case EnemyTypes.CHASE -> planChase(i, map);
+                case EnemyTypes.DIRECT -> planDirect(i, map);
+            }
+        }
+    }
+
+    // Walk straight ahead, turning clockwise when blocked
+    private void planPatrol(int i, int[][] map) {
+        int d = dir[i];
+        if (!planStep(i, map, d)) plan(i, TURN, (d + 1) & 3);
+    }
+
+    // Step towards the closest player along the cheapest path (smashing ice on the way for types that break it),
+    // wandering when nobody can be reached
+    private void planChase(int i, int[][] map) {
+        int target = closestPlayer(i);
+        if (target == 0) return;
+
+        // Skip the lookup if the target's region is walled off
+        DistanceField field = fields[routeGroup[type[i]]][target - 1];
+        boolean breaks = EnemyTypes.ice[type[i]] == EnemyTypes.ICE_BREAKS;
+        int targetCol = (target == 1 ? p1X : p2X) / tileSize, targetRow = (target == 1 ? p1Y : p2Y) / tileSize;
+        if (levelAnalysis == null || levelAnalysis.sameRegion(col[i], row[i], targetCol, targetRow)) {
+            // Wait for the next tick if the repair has not reached this chaser yet
+            if (!field.isSettled(row[i] * cols + col[i])) return;
+
+            int best = -1, bestDist = DistanceField.INF;
+            for (int d : STEP_ORDER) {
+                int c = col[i] + DX[d], r = row[i] + DY[d];
+                if (!inBounds(c, r) || !(isPassable(map[r][c]) || breaks && map[r][c] == 2)) continue;
+                int dist = field.distance(r * cols + c);
+                if (dist < bestDist) {
+                    best = d;
+                    bestDist = dist;
+                }
+            }
+            if (best >= 0 && planStep(i, map, best)) return;
+        }
+
+        // No path to follow, walk randomly
+        int start = random(i) & 3;
+        for (int k = 0; k < 4; k++) {
+            int d = (start + k) & 3;
+            if (planStep(i, map, d)) return;
+        }
+    }
+
+    // Step along the longest axis towards the closest player, facing them when blocked
+    private void planDirect(int i, int[][] map) {
+        int target = closestPlayer(i);
+        if (target == 0) return;
+
+        int dx = 0, dy = 0;
+        int targetX = target == 1 ? p1X : p2X, targetY = target == 1 ? p1Y : p2Y;
+        if (Math.abs(targetX - x(i)) >= Math.abs(targetY - y(i))) {
+            dx = Integer.compare(targetX, x(i));
+        } else {
+            dy = Integer.compare(targetY, y(i));
+        }
+        int d = dx > 0 ? RIGHT : dx < 0 ? LEFT : dy < 0 ? UP : DOWN;
+        if ((dx != 0 || dy != 0) && planStep(i, map, d)) return;
+        plan(i, TURN, d);
+    }
+
+    // Plans a step (or an ice break, for types that smash ice) in direction d; false if the way is blocked
+    private boolean planStep(int i, int[][] map, int d) {
+        int c = col[i] + DX[d], r = row[i] + DY[d];
+        if (!inBounds(c, r)) return false;
+        int tile = map[r][c];
+        if (isPassable(tile)) {
+            planMove(i, c, r, d);
+            return true;
+        }
+        if (tile == 2 && EnemyTypes.ice[type[i]] == EnemyTypes.ICE_BREAKS) {
+            action[i] = BREAK;
+            planCol[i] = c;
+            planRow[i] = r;
+            planDir[i] = d;
+            return true;
+        }
+        return false;
+    }
+
+    // Applies enemy i's plan to the map
+    private void commit(int[][] map, int i) {
+        int t = type[i];
+        switch (action[i]) {
+            case WAIT -> {
+                // The break animation keeps playing while the ice cracks
+                if (state[i] == BREAKING) anim[i]++;
+                return;
+            }
+            case FINISH_BREAK -> {
+                state[i] = WALKING;
+                if (map[breakRow[i]][breakCol[i]] == 2) {
+                    map[breakRow[i]][breakCol[i]] = 6;
+                    tileChanged(breakCol[i], breakRow[i]);
+                }
+                return;
+            }
+            case MOVE -> {
+                // Restore whatever was under the enemy and hide whatever is on the new tile
+                occupant[row[i] * cols + col[i]] = 0;
+                Helper.restoreFruit(map, col[i], row[i]);
+                col[i] = planCol[i];
+                row[i] = planRow[i];
+                Helper.storeFruit(map, col[i], row[i]);
+                occupant[row[i] * cols + col[i]] = i + 1;
+            }
+            case BREAK -> {
+                state[i] = BREAKING;
+                breakUntilTick[i] = tick + EnemyTypes.breakTicks[t];
+                breakCol[i] = planCol[i];
+                breakRow[i] = planRow[i];
+            }
+        }
+
+        // Mark the tile as occupied by the enemy and advance its animation
+        dir[i] = planDir[i];
+        map[row[i]][col[i]] = 30 + t;
+        anim[i]++;
+        nextMoveTick[i] = tick + EnemyTypes.moveTicks[t];
+
+        // Catch players within the type's range
+        int range = EnemyTypes.catchRange[t];
+        if (tileDistance(i, p1X, p1Y) <= range) Helper.player1Collided = true;
+        if (tileDistance(i, p2X, p2Y) <= range) Helper.player2Collided = true;
+    }
+
+    // Values save writes: the tick and enemy count, then each enemy's state
+    int saveSize() {
+        return 2 + count * 11;
+    }
+
+    // Writes every enemy's state into a rewind frame from position at, returning the position after it
+    int save(int[] out, int at) {
+        out[at++] = tick;
+        out[at++] = count;
+        for (int i = 0; i < count; i++) {
+            out[at++] = type[i];
+            out[at++] = col[i];
+            out[at++] = row[i];
+            out[at++] = dir[i];
+            out[at++] = state[i];
+            out[at++] = anim[i];
+            out[at++] = rng[i];
+            out[at++] = breakCol[i];
+            out[at++] = breakRow[i];
+            out[at++] = nextMoveTick[i];
+            out[at++] = breakUntilTick[i];
+        }
+        return at;
+    }
+
+    // Restores the enemies written by save (the tile grids are restored separately) and replans every field
+    int load(int[] in, int at) {
+        tick = in[at++];
+        count = in[at++];
+        Arrays.fill(occupant, 0);
+        Arrays.fill(reservedTick, 0);
+        for (int i = 0; i < count; i++) {
+            type[i] = in[at++];
+            col[i] = in[at++];
+            row[i] = in[at++];
+            dir[i] = in[at++];
+            state[i] = in[at++];
+            anim[i] = in[at++];
+            rng[i] = in[at++];
+            breakCol[i] = in[at++];
+            breakRow[i] = in[at++];
+            nextMoveTick[i] = in[at++];
+            breakUntilTick[i] = in[at++];
+            occupant[row[i] * cols + col[i]] = i + 1;
+        }
+        changedCount = 0;
+        fieldsStale = true;
+        return at;
+    }
+
+    // Writes every enemy into the snapshot entity buffer as (x, y, direction), starting at entity index first
+    public void putEntities(int[] entities, int first) {
+        int offset = first * SnapshotEncoder.ENTITY_STRIDE;
+        for (int i = 0; i < count; i++) {
+            entities[offset] = x(i);
+            entities[offset + 1] = y(i);
+            entities[offset + 2] = dir[i];
+            offset += SnapshotEncoder.ENTITY_STRIDE;
+        }
+    }
+
+    private void plan(int i, int planned, int d) {
+        action[i] = planned;
+        planCol[i] = col[i];
+        planRow[i] = row[i];
+        planDir[i] = d;
+    }
+
+    private void planMove(int i, int c, int r, int d) {
+        action[i] = MOVE;
+        planCol[i] = c;
+        planRow[i] = r;
+        planDir[i] = d;
+    }
+
+    // Returns the closest player still in the game (1 or 2), or 0 if both have been caught
+    private int closestPlayer(int i) {
+        if (!p1Alive && !p2Alive) return 0;
+        if (!p2Alive) return 1;
+        if (!p1Alive) return 2;
+        int d1 = Math.abs(x(i) - p1X) + Math.abs(y(i) - p1Y);
+        int d2 = Math.abs(x(i) - p2X) + Math.abs(y(i) - p2Y);
+        return d2 < d1 ? 2 : 1;
+    }
+
+    // Tiles between enemy i and a player, moving only up, down, left and right
+    private int tileDistance(int i, int playerX, int playerY) {
+        return Math.abs(col[i] - playerX / tileSize) + Math.abs(row[i] - playerY / tileSize);
+    }
+
+    // Pixel position of enemy i
+    int x(int i) {
+        return col[i] * tileSize;
+    }
+
+    int y(int i) {
+        return row[i] * tileSize;
+    }
+
+    boolean inBounds(int c, int r) {
+        return r >= 0 && c >= 0 && r < rows && c < cols;
+    }
+
+    // Determines if the tile can be walked on by an enemy (empty tile, fruit tile, or player)
+    static boolean isPassable(int tileValue) {
+        return tileValue == 6 || tileValue / 100 == 5 || tileValue / 10 == 4;
+    }
+
+    // Next value of enemy i's own xorshift generator, so random walks replay identically
+    private int random(int i) {
+        int v = rng[i];
+        v ^= v << 13;
+        v ^= v >>> 17;
+        v ^= v << 5;
+        rng[i] = v;
+        return v >>> 1;
+    }
+
+    // Brings the distance fields up to date: applies the tiles that changed since the last tick, moves each
+    // field's source to its player and repairs until every chaser heading for that player has an exact cost.
+    // Fields whose chasers are closest to their player go first, and repair stops when the tick's budget is
+    // spent. Returns the number of chasers left waiting for their repair to finish.
+    // The fields treat tiles under enemies as open, so enemies moving around never trigger a repair.
+    private int updateFields(int[][] map) {
+        if (fieldsStale) {
+            // New level: load every tile and plan from scratch on the first repair
+            changedCount = 0;
+            for (int g = 0; g < fields.length; g++) {
+                if (fields[g] == null) continue;
+                for (int r = 0; r < rows; r++) {
+                    for (int c = 0; c < cols; c++) setCost(g, r, c, map[r][c]);
+                }
+                fields[g][0].reset();
+                fields[g][1].reset();
+            }
+            fieldsStale = false;
+        } else {
+            for (int k = 0; k < changedCount; k++) {
+                int r = changedTiles[k] >>> 16, c = changedTiles[k] & 0xFFFF;
+                if (!inBounds(c, r)) continue;
+                for (int g = 0; g < fields.length; g++) {
+                    if (fields[g] != null) setCost(g, r, c, map[r][c]);
+                }
+            }
+            changedCount = 0;
+        }
+
+        // Each chaser only needs the field of its group and the player it is heading for; walled off chasers wander instead
+        for (int[] n : targetCount) Arrays.fill(n, 0);
+        for (int[] n : nearest) Arrays.fill(n, Integer.MAX_VALUE);
+        for (int i = 0; i < count; i++) {
+            if (EnemyTypes.policy[type[i]] != EnemyTypes.CHASE) continue;
+            int target = closestPlayer(i);
+            if (target == 0) continue;
+            int targetCol = (target == 1 ? p1X : p2X) / tileSize, targetRow = (target == 1 ? p1Y : p2Y) / tileSize;
+            if (levelAnalysis != null && !levelAnalysis.sameRegion(col[i], row[i], targetCol, targetRow)) continue;
+            int g = routeGroup[type[i]], p = target - 1;
+            if (targetCount[g][p] == targets[g][p].length) targets[g][p] = Arrays.copyOf(targets[g][p], targetCount[g][p] * 2);
+            targets[g][p][targetCount[g][p]++] = row[i] * cols + col[i];
+            nearest[g][p] = Math.min(nearest[g][p], Math.abs(col[i] - targetCol) + Math.abs(row[i] - targetRow));
+        }
+
+        // Order the fields with chasers by how close their nearest chaser is (few fields, so insertion sort)
+        int active = 0;
+        for (int k = 0; k < repairOrder.length; k++) {
+            int g = k / 2, p = k % 2;
+            if (targetCount[g][p] == 0) continue;
+            int j = active++;
+            for (; j > 0 && nearest[repairOrder[j - 1] / 2][repairOrder[j - 1] % 2] > nearest[g][p]; j--) repairOrder[j] = repairOrder[j - 1];
+            repairOrder[j] = k;
+        }
+
+        // Repair in slices until done or out of time. Within a field the repair spreads out from the player, so
+        // the closest chasers settle first. A field whose repair was cut short keeps its old source until it
+        // finishes, otherwise a moving player would restart it every tick.
+        int deferred = 0;
+        for (int k = 0; k < active; k++) {
+            int g = repairOrder[k] / 2, p = repairOrder[k] % 2;
+            DistanceField field = fields[g][p];
+            int playerX = p == 0 ? p1X : p2X, playerY = p == 0 ? p1Y : p2Y;
+            if (budget.hasTime()) {
+                GameEvents.PathRepair event = GameEvents.PATH_REPAIR.isEnabled() ? new GameEvents.PathRepair() : null;
+                if (event != null) event.begin();
+                long before = field.expansions;
+                if (field.finished() && inBounds(playerX / tileSize, playerY / tileSize)) {
+                    field.moveSource(playerY / tileSize * cols + playerX / tileSize);
+                }
+                boolean done;
+                do {
+                    done = field.settle(targets[g][p], targetCount[g][p], AiBudget.SLICE);
+                } while (!done && budget.hasTime());
+                if (field.expansions != before) GameMetrics.pathRepair(System.nanoTime());
+                if (event != null) {
+                    event.group = g;
+                    event.player = p + 1;
+                    event.chasers = targetCount[g][p];
+                    event.expanded = field.expansions - before;
+                    event.finished = done;
+                    event.commit();
+                }
+            }
+            for (int t = 0; t < targetCount[g][p]; t++) {
+                if (!field.isSettled(targets[g][p][t])) deferred++;
+            }
+        }
+        return deferred;
+    }
+
+    // Cells expanded by every field, for the budget report
+    private long expansions() {
+        long total = 0;
+        for (DistanceField[] pair : fields) {
+            if (pair != null) total += pair[0].expansions + pair[1].expansions;
+        }
+        return total;
+    }
+
+    // Loads the cost of stepping onto a tile into both fields of a group. Costs are in ticks: ground, fruit,
+    // players and enemies take the type's move delay, ice takes the move delay plus the break time for types
+    // that smash it, and everything else blocks. Group 0 only needs relative costs, so every open tile costs one.
+    private void setCost(int g, int r, int c, int tile) {
+        int cost = DistanceField.INF;
+        if (isPassable(tile) || tile / 10 == 3) {
+            cost = g == 0 ? 1 : EnemyTypes.moveTicks[groupType[g]];
+        } else if (tile == 2 && g > 0) {
+            cost = EnemyTypes.moveTicks[groupType[g]] + EnemyTypes.breakTicks[groupType[g]];
+        }
+        fields[g][0].setCost(r * cols + c, cost);
+        fields[g][1].setCost(r * cols + c, cost);
+    }
+
+    // Plans one batch of enemies on the common pool; reinitialized and reused every tick
+    private final class PlanTask extends RecursiveAction {
+        final int batch;
+        int[][] map;
+
+        PlanTask(int batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        protected void compute() {
+            planBatch(map, batch * BATCH, Math.min(count, (batch + 1) * BATCH));
+        }
+    }
+
+    // Doubles the capacity of every per-enemy array
+    private void grow() {
+        int n = type.length * 2;
+        type = Arrays.copyOf(type, n);
+        col = Arrays.copyOf(col, n);
+        row = Arrays.copyOf(row, n);
+        dir = Arrays.copyOf(dir, n);
+        state = Arrays.copyOf(state, n);
+        anim = Arrays.copyOf(anim, n);
+        rng = Arrays.copyOf(rng, n);
+        breakCol = Arrays.copyOf(breakCol, n);
+        breakRow = Arrays.copyOf(breakRow, n);
+        nextMoveTick = Arrays.copyOf(nextMoveTick, n);
+        breakUntilTick = Arrays.copyOf(breakUntilTick, n);
+        action = Arrays.copyOf(action, n);
+        planCol = Arrays.copyOf(planCol, n);
+        planRow = Arrays.copyOf(planRow, n);
+        planDir = Arrays.copyOf(planDir, n);
+    }
+}
@@ -0,0 +1,200 @@
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.List;
+
+// Enemy types declared in enemies.txt, compiled into flat tables indexed by type id (the subtype of tile code 3x)
+public class EnemyTypes {
+    // Definition file, read from the working directory like the level files
+    static final String FILE = "enemies.txt";
+
+    // Tile codes 30-39 leave room for ten types
+    static final int MAX_TYPES = 10;
+
+    // Movement policies
+    static final int PATROL = 0, CHASE = 1, DIRECT = 2;
+
+    // Ice interactions
+    static final int ICE_BLOCKS = 0, ICE_BREAKS = 1;
+
+    // Ticks each frame of the ice breaking animation is shown for
+    static final int BREAK_FRAME_TICKS = 5;
+
+    // Compiled behaviour tables
+    static final boolean[] defined = new boolean[MAX_TYPES];
+    static final String[] name = new String[MAX_TYPES];
+    static final int[] policy = new int[MAX_TYPES];
+    static final int[] moveTicks = new int[MAX_TYPES];
+    static final int[] breakTicks = new int[MAX_TYPES];
+    static final int[] ice = new int[MAX_TYPES];
+    static final int[] catchRange = new int[MAX_TYPES];
+    static final int[] startDir = new int[MAX_TYPES];
+
+    // Sprite folders and placement relative to the enemy's tile, in tiles
+    private static final String[] spriteDir = new String[MAX_TYPES];
+    private static final String[] breakSprites = new String[MAX_TYPES];
+    private static final float[][] draw = new float[MAX_TYPES][];
+
+    // Walking and ice breaking frames per type and direction code, loaded on first draw
+    private static final BufferedImage[][][] walk = new BufferedImage[MAX_TYPES][][];
+    private static final BufferedImage[][][] breaking = new BufferedImage[MAX_TYPES][][];
+
+    // Direction vectors handed to the ice break animation, indexed by direction code
+    private static final int[][] VECTORS = {{0, -1}, {1, 0}, {0, 1}, {-1, 0}};
+
+    static {
+        load(new File(FILE));
+    }
+
+    // Returns true if a type id has a definition
+    public static boolean isDefined(int type) {
+        return type >= 0 && type < MAX_TYPES && defined[type];
+    }
+
+    // Returns true if enemies of this type smash ice instead of being stopped by it
+    public static boolean breaksIce(int type) {
+        return isDefined(type) && ice[type] == ICE_BREAKS;
+    }
+
+    // Reads every definition block, reporting (and skipping) malformed lines
+    static void load(File file) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            int type = -1;
+            int lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                try {
+                    if (line.startsWith("[") && line.endsWith("]")) {
+                        type = Integer.parseInt(line.substring(1, line.length() - 1).trim()) - 30;
+                        if (type < 0 || type >= MAX_TYPES) throw new IllegalArgumentException("tile code must be 30-39");
+                        define(type);
+                    } else if (type >= 0 && line.contains("=")) {
+                        int eq = line.indexOf('=');
+                        set(type, line.substring(0, eq).trim(), line.substring(eq + 1).trim());
+                    } else {
+                        throw new IllegalArgumentException("expected [code] or key = value");
+                    }
+                } catch (IllegalArgumentException e) {
+                    System.out.println(file + ":" + lineNumber + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Starts a type with default values
+    private static void define(int type) {
+        defined[type] = true;
+        name[type] = "enemy" + (30 + type);
+        policy[type] = PATROL;
+        moveTicks[type] = ticks(275);
+        breakTicks[type] = ticks(750);
+        ice[type] = ICE_BLOCKS;
+        catchRange[type] = 0;
+        startDir[type] = EnemySystem.DOWN;
+        spriteDir[type] = null;
+        breakSprites[type] = null;
+        draw[type] = new float[]{0, 0, 1, 1};
+        walk[type] = null;
+        breaking[type] = null;
+    }
+
+    // Compiles one key of a definition into the tables
+    private static void set(int type, String key, String value) {
+        switch (key) {
+            case "name" -> name[type] = value;
+            case "policy" -> policy[type] = choose(value, "patrol", "chase", "direct");
+            case "move_ms" -> moveTicks[type] = ticks(Integer.parseInt(value));
+            case "break_ms" -> breakTicks[type] = ticks(Integer.parseInt(value));
+            case "ice" -> ice[type] = choose(value, "blocks", "breaks");
+            case "catch_range" -> catchRange[type] = Integer.parseInt(value);
+            case "start" -> startDir[type] = choose(value, "up", "right", "down", "left");
+            case "sprites" -> spriteDir[type] = value;
+            case "break_sprites" -> breakSprites[type] = value;
+            case "draw" -> {
+                String[] parts = value.split("\\s+");
+                if (parts.length != 4) throw new IllegalArgumentException("draw needs x, y, width and height");
+                float[] d = new float[4];
+                for (int i = 0; i < 4; i++) d[i] = Float.parseFloat(parts[i]);
+                draw[type] = d;
+            }
+            default -> throw new IllegalArgumentException("unknown key " + key);
+        }
+    }
+
+    // Returns the index of a value among the allowed words
+    private static int choose(String value, String... options) {
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(value)) return i;
+        }
+        throw new IllegalArgumentException("unknown value " + value);
+    }
+
+    // Converts a delay to whole movement ticks, rounding up (the tick runs every 50 ms)
+    private static int ticks(int ms) {
+        return Math.max(1, (ms + EnemySystem.TICK_MS - 1) / EnemySystem.TICK_MS);
+    }
+
+    // Draws enemy i of a frame snapshot using its type's sprites and placement
+    static void draw(Graphics g, FrameSnapshot f, int i) {
+        int type = f.enemyType[i];
+        loadSprites(type);
+        int ts = f.tileSize;
+        float[] d = draw[type];
+        int x = f.enemyX[i] + (int) (ts * d[0]), y = f.enemyY[i] + (int) (ts * d[1]);
+        int w = (int) (ts * d[2]), h = (int) (ts * d[3]);
+
+        if (f.enemyState[i] == EnemySystem.BREAKING) {
+            // Breaking animation and the ice cracking in front
+            BufferedImage[] frames = breaking[type][f.enemyDir[i]];
+            int frame = f.enemyAnim[i] / BREAK_FRAME_TICKS;
+            if (frames.length > 0) SpriteCache.draw(g, frames[frame % frames.length], x, y, w, h);
+            Ice.drawBreakAnimation(g, f.enemyBreakCol[i] * ts, f.enemyBreakRow[i] * ts, ts, frame, VECTORS[f.enemyDir[i]]);
+            return;
+        }
+
+        BufferedImage[] frames = walk[type][f.enemyDir[i]];
+        if (frames.length > 0) SpriteCache.draw(g, frames[f.enemyAnim[i] % frames.length], x, y, w, h);
+    }
+
+    // Loads a type's frames once, mirroring the side frames for facing left
+    private static void loadSprites(int type) {
+        if (walk[type] != null) return;
+        walk[type] = directions(spriteDir[type], "");
+        breaking[type] = directions(spriteDir[type], breakSprites[type] == null ? null : "/" + breakSprites[type]);
+    }
+
+    // Frames for each direction code from the up, side and down folders (left is the mirrored side)
+    private static BufferedImage[][] directions(String dir, String suffix) {
+        BufferedImage[][] frames = new BufferedImage[4][];
+        frames[EnemySystem.UP] = frames(dir, "/up", suffix);
+        frames[EnemySystem.DOWN] = frames(dir, "/down", suffix);
+        frames[EnemySystem.RIGHT] = frames(dir, "/side", suffix);
+        frames[EnemySystem.LEFT] = new BufferedImage[frames[EnemySystem.RIGHT].length];
+        for (int i = 0; i < frames[EnemySystem.LEFT].length; i++) frames[EnemySystem.LEFT][i] = flipImage(frames[EnemySystem.RIGHT][i]);
+        return frames;
+    }
+
+    private static BufferedImage[] frames(String dir, String direction, String suffix) {
+        if (dir == null || suffix == null) return new BufferedImage[0];
+        List<BufferedImage> frames = Assets.frames(dir + direction + suffix);
+        return frames.toArray(new BufferedImage[0]);
+    }
+
+    // Utility method to horizontally flip an image
+    private static BufferedImage flipImage(BufferedImage img) {
+        BufferedImage flipped = Assets.createImage(img.getWidth(), img.getHeight(), img.getTransparency());
+        Graphics2D g2 = flipped.createGraphics();
+        g2.drawImage(img, img.getWidth(), 0, -img.getWidth(), img.getHeight(), null);
+        g2.dispose();
+        return flipped;
+    }
+}
@@ -4,32 +4,24 @@ import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import javax.imageio.ImageIO;
 
 // Screen to handle both players' flavour selection
-public class FlavourSelectScreen extends JPanel {
+public class FlavourSelectScreen extends JPanel implements Screen {
     // UI images and font
-    private BufferedImage snowflakeImage, frameImage, backButtonImage, dripImage;
+    private BufferedImage frameImage, backButtonImage;
     private Font customFont;
 
-    // List of animated snowflakes
-    public List<Snowflake> snowflakes;
-
     // Track which flavour is hovered or selected
     private int hoveredFlavour1 = -1;
     private int hoveredFlavour2 = -1;
     public String player1Flavour = null;
     public String player2Flavour = null;
 
-    // Transitioning state and animation position
+    // Set once both flavours are chosen and the transition has started
     private boolean transitioning = false;
-    private int dripY = -600;
-    private Timer dripTimer;
 
     // Flavour data and animation frames
     private final String[] flavours = {"chocolate", "vanilla", "strawberry"};
@@ -48,91 +40,48 @@ public class FlavourSelectScreen extends JPanel {
 
     private int animFrame = 0;
 
-    // Snowflake grid config
-    private final int rows = 9;
-    private final int cols = 10;
-    private final int spacingX = 130;
-    private final int spacingY = 130;
-
-    public static class Snowflake {
-        Point position;
-        double angle;
-
-        public Snowflake(int x, int y) {
-            this.position = new Point(x, y);
-            this.angle = Math.random() * 360;
-        }
-    }
+    // Assets that must be resident before the screen is shown
+    static final String[] ASSETS = {
+            "../graphics/images/map/frames/snowflake.png",
+            "../graphics/images/map/frames/two_rectangle_frames.png",
+            "../graphics/images/map/buttons/button_frame.png",
+            "../graphics/images/map/frames/drip_animation.png",
+            "../graphics/fonts/4409_FFF Neostandard Bold_8pt_st.ttf",
+            "../graphics/images/map/frames/flavour_selection/chocolate/",
+            "../graphics/images/map/frames/flavour_selection/vanilla/",
+            "../graphics/images/map/frames/flavour_selection/strawberry/"
+    };
 
     public FlavourSelectScreen() {
         // Load images and font
-        try {
-            snowflakeImage = ImageIO.read(new File("../graphics/images/map/frames/snowflake.png"));
-            frameImage = ImageIO.read(new File("../graphics/images/map/frames/two_rectangle_frames.png"));
-            backButtonImage = ImageIO.read(new File("../graphics/images/map/buttons/button_frame.png"));
-            dripImage = ImageIO.read(new File("../graphics/images/map/frames/drip_animation.png"));
-            customFont = Font.createFont(Font.TRUETYPE_FONT, new File("../graphics/fonts/4409_FFF Neostandard Bold_8pt_st.ttf")).deriveFont(28f);
-        } catch (IOException | FontFormatException e) {
-            System.out.println(e.getMessage());
-            customFont = new Font("SansSerif", Font.BOLD, 28);
-        }
+        frameImage = Assets.image("../graphics/images/map/frames/two_rectangle_frames.png");
+        backButtonImage = Assets.image("../graphics/images/map/buttons/button_frame.png");
+        Font baseFont = Assets.font("../graphics/fonts/4409_FFF Neostandard Bold_8pt_st.ttf");
+        customFont = baseFont != null ? baseFont.deriveFont(28f) : new Font("SansSerif", Font.BOLD, 28);
 
         // Load animated flavour images
         for (String flavour : flavours) {
-            File folder = new File("../graphics/images/map/frames/flavour_selection/" + flavour + "/");
-            File[] files = folder.listFiles((_, name) -> name.endsWith(".png"));
-            if (files == null) continue;
-            // Ensure consistent frame order
-            Arrays.sort(files);
-            BufferedImage[] frames = new BufferedImage[files.length];
-            for (int i = 0; i < files.length; i++) {
-                try {
-                    frames[i] = ImageIO.read(files[i]);
-                } catch (IOException e) {
-                    System.out.println(e.getMessage());
-                }
-            }
-            flavourAnimations.add(frames);
-        }
-
-        // Create snowflake grid for animated background
-        snowflakes = new ArrayList<>();
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                int x = col * spacingX;
-                int y = row * spacingY - col * spacingY;
-                snowflakes.add(new Snowflake(x, y));
-            }
+            List<BufferedImage> frames = Assets.frames("../graphics/images/map/frames/flavour_selection/" + flavour + "/");
+            if (frames.isEmpty()) continue;
+            flavourAnimations.add(frames.toArray(new BufferedImage[0]));
         }
 
         // Timer to animate falling snowflakes
-        Timer snowTimer = new Timer(100, _ -> {
-            for (Snowflake flake : snowflakes) {
-                flake.position.x -= 2;
-                flake.position.y += 2;
-                flake.angle = (flake.angle + 5) % 360;
-
-                // Reset snowflake when it moves off-screen
-                if (flake.position.x < -65 || flake.position.y > getHeight()) {
-                    flake.position.x = getWidth();
-                    flake.position.y -= getHeight() + rows * spacingY;
-                }
-            }
+        Scheduler.every(this, 100, _ -> {
+            SnowField.shared().update(RenderScale.width(), RenderScale.height());
             repaint();
         });
-        snowTimer.start();
 
         // Timer to update flavour animations
-        Timer animationTimer = new Timer(200, _ -> {
+        Scheduler.every(this, 200, _ -> {
             animFrame++;
             repaint();
         });
-        animationTimer.start();
 
         // Mouse hover detection for flavour boxes
         addMouseMotionListener(new MouseMotionAdapter() {
             public void mouseMoved(MouseEvent e) {
-                Point p = e.getPoint();
+                Point p = RenderScale.toLogical(e.getPoint());
                 hoveredFlavour1 = hoveredFlavour2 = -1;
 
                 // Check if mouse is over any flavour button for Player 1
@@ -152,14 +101,10 @@ public class FlavourSelectScreen extends JPanel {
         // Mouse click detection for selecting flavours and navigating back
         addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
-                Point p = e.getPoint();
+                Point p = RenderScale.toLogical(e.getPoint());
 
                 if (backButtonRect.contains(p)) {
-                    Container parent = FlavourSelectScreen.this.getParent();
-                    parent.removeAll();
-                    parent.add(new MenuScreen());
-                    parent.revalidate();
-                    parent.repaint();
+                    LoadingScreen.show(FlavourSelectScreen.this.getParent(), MenuScreen.ASSETS, MenuScreen::new);
                 }
 
                 // Select flavour for Player 1
@@ -195,22 +140,10 @@ public class FlavourSelectScreen extends JPanel {
 
     }
 
-    // Starts the animated drip transition before changing screen
+    // Starts the animated drip transition to the level selection screen
     private void transition() {
         transitioning = true;
-        dripTimer = new Timer(15, _ -> {
-            dripY += 10;
-            repaint();
-            if (dripY >= getHeight()) {
-                dripTimer.stop();
-                JFrame topFrame = (JFrame) SwingUtilities.getWindowAncestor(FlavourSelectScreen.this);
-                topFrame.getContentPane().removeAll();
-                topFrame.getContentPane().add(new LevelSelectScreen(player1Flavour, player2Flavour));
-                topFrame.revalidate();
-                topFrame.repaint();
-            }
-        });
-        dripTimer.start();
+        ScreenTransition.drip(this, LevelSelectScreen.ASSETS, () -> new LevelSelectScreen(player1Flavour, player2Flavour));
     }
 
     // Draw text with black outline and white fill
@@ -228,25 +161,20 @@ public class FlavourSelectScreen extends JPanel {
         super.paintComponent(g);
         setBackground(new Color(246, 254, 254));
         Graphics2D g2d = (Graphics2D) g;
+        RenderScale.apply(g2d);
 
         // Draw rotating snowflakes
-        for (Snowflake flake : snowflakes) {
-            AffineTransform old = g2d.getTransform();
-            g2d.translate(flake.position.x + 32, flake.position.y + 32);
-            g2d.rotate(Math.toRadians(flake.angle));
-            g2d.drawImage(snowflakeImage, -32, -32, 65, 65, null);
-            g2d.setTransform(old);
-        }
+        SnowField.shared().draw(g2d);
 
         // Draw frame
-        g2d.drawImage(frameImage, 40, 80, 570, 500, null);
+        SpriteCache.draw(g2d, frameImage, 40, 80, 570, 500);
 
         // Draw text titles and labels
         String title = "choose your flavour";
         String playerText = "player one";
         String playerText2 = "player two";
         FontMetrics fm = g2d.getFontMetrics(customFont);
-        int tx = getWidth() / 2 - fm.stringWidth(title) / 2;
+        int tx = RenderScale.width() / 2 - fm.stringWidth(title) / 2;
         int ty = 80 + 50;
         drawOutlinedText(g2d, title, tx, ty, customFont);
         drawOutlinedText(g2d, playerText, flavour1Rect.x, flavour1Rect.y + flavour1Rect.height - 5, customFont);
@@ -256,17 +184,12 @@ public class FlavourSelectScreen extends JPanel {
         BufferedImage flavour1 = getFlavourImage(player1Flavour, hoveredFlavour1, flavourAnimations, animFrame);
         BufferedImage flavour2 = getFlavourImage(player2Flavour, hoveredFlavour2, flavourAnimations, animFrame);
 
-        g2d.drawImage(flavour1, flavour1Rect.x, flavour1Rect.y - 40, flavour1Rect.width, flavour1Rect.height, null);
-        g2d.drawImage(flavour2, flavour2Rect.x, flavour2Rect.y - 40, flavour2Rect.width, flavour2Rect.height, null);
+        SpriteCache.draw(g2d, flavour1, flavour1Rect.x, flavour1Rect.y - 40, flavour1Rect.width, flavour1Rect.height);
+        SpriteCache.draw(g2d, flavour2, flavour2Rect.x, flavour2Rect.y - 40, flavour2Rect.width, flavour2Rect.height);
 
         // Draw back button
-        g2d.drawImage(backButtonImage, backButtonRect.x, backButtonRect.y, backButtonRect.width, backButtonRect.height, null);
+        SpriteCache.draw(g2d, backButtonImage, backButtonRect.x, backButtonRect.y, backButtonRect.width, backButtonRect.height);
         drawOutlinedText(g2d, "back", backButtonRect.x + 75, backButtonRect.y + 35, customFont.deriveFont(20f));
-
-        // If transitioning, draw drip effect
-        if (transitioning) {
-            g2d.drawImage(dripImage, 0, dripY, 650, 1080, null);
-        }
     }
 
     // Helper method to get the current frame of flavour animation or static image
@@ -0,0 +1,197 @@
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Renders a match recorded by MatchRecorder offscreen at a fixed size and frame rate, with the same GameRenderer
+// the game uses, and exports the frames as numbered PNGs or one raw RGB24 stream (for ffmpeg's rawvideo input).
+// Needs no display. e.g. "java FrameExporter match-3-1700000000000.bin clip 1280 720 30 40 55" writes the 15
+// seconds from 0:40 as clip/frame-000000.png onwards; an output of "-" or a file ending in .rgb writes the raw
+// stream instead. PNG encoding runs on every core while the next frames are drawn, with a fixed pool of frame
+// images so memory stays bounded however long the clip is.
+public class FrameExporter {
+    // Where finished frames go; take blocks until an image is free, which keeps rendering from running ahead
+    private interface Sink {
+        BufferedImage take() throws InterruptedException;
+
+        void put(BufferedImage image, int index) throws IOException;
+
+        void finish() throws IOException, InterruptedException;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 2) {
+            System.out.println("Usage: java FrameExporter <match.bin> <directory | file.rgb | -> [width] [height] [fps] [from seconds] [to seconds]");
+            return;
+        }
+        int width = args.length > 2 ? Integer.parseInt(args[2]) : 1280;
+        int height = args.length > 3 ? Integer.parseInt(args[3]) : 720;
+        int fps = args.length > 4 ? Integer.parseInt(args[4]) : 30;
+        long from = args.length > 5 ? (long) (Double.parseDouble(args[5]) * 1000) : 0;
+        long to = args.length > 6 ? (long) (Double.parseDouble(args[6]) * 1000) : Long.MAX_VALUE;
+        String output = args[1];
+        boolean raw = output.equals("-") || output.endsWith(".rgb");
+
+        // When the video goes to standard output, keep it for the sink and send everything else the game prints
+        // (e.g. missing sprite warnings) to standard error, before anything is loaded
+        OutputStream video = null;
+        if (output.equals("-")) {
+            video = System.out;
+            System.setOut(System.err);
+        }
+
+        long started = System.nanoTime();
+        int frames = 0;
+        try (MatchRecorder.Reader reader = new MatchRecorder.Reader(new File(args[0]))) {
+            GameRenderer renderer = new GameRenderer(reader.rows, reader.cols);
+            FrameSnapshot current = reader.snapshot(), next = reader.snapshot();
+            int currentTime = reader.next(current);
+            if (currentTime < 0) throw new IOException(args[0] + " has no frames");
+            int nextTime = reader.next(next);
+            Sink sink = raw ? new RawSink(video != null ? video : new FileOutputStream(output), width, height)
+                    : new PngSink(new File(output), width, height);
+
+            for (long time = from; time <= to; time = from + (long) frames * 1000 / fps) {
+                // Show the last recorded frame at or before this time, stopping once the recording has run out
+                while (nextTime >= 0 && nextTime <= time) {
+                    FrameSnapshot swap = current;
+                    current = next;
+                    next = swap;
+                    currentTime = nextTime;
+                    nextTime = reader.next(next);
+                }
+                if (nextTime < 0 && time > currentTime + 1000 / fps) break;
+
+                BufferedImage image = sink.take();
+                current.fitView(width, height);
+                Graphics2D g = RenderBackend.CURRENT.begin(image);
+                try {
+                    renderer.draw(g, current);
+                } finally {
+                    RenderBackend.CURRENT.end(g);
+                }
+                sink.put(image, frames++);
+            }
+            sink.finish();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        double played = frames / (double) fps;
+        System.err.printf("%d frames (%.1f s of play) in %.1f s, %.1fx real time%n", frames, played, seconds, played / seconds);
+    }
+
+    // Numbered PNG files, encoded on a thread per core
+    private static class PngSink implements Sink {
+        // PNG compression from 0 (smallest) to 1 (none); 0.9 encodes a 720p frame about twice as fast as the
+        // default for files around a fifth larger
+        private static final float QUALITY = 0.9f;
+
+        // One writer per encoder thread, reused for every frame it encodes
+        private final ThreadLocal<ImageWriter> writers = ThreadLocal.withInitial(() -> ImageIO.getImageWritersByFormatName("png").next());
+        private final File directory;
+        private final BlockingQueue<BufferedImage> free;
+        private final ExecutorService encoders;
+        private final AtomicReference<IOException> failure = new AtomicReference<>();
+
+        PngSink(File directory, int width, int height) throws IOException {
+            if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Can't create " + directory);
+            this.directory = directory;
+            int threads = Runtime.getRuntime().availableProcessors();
+            // Daemon threads, so a failed export exits instead of waiting on an idle pool
+            encoders = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "png-encoder");
+                t.setDaemon(true);
+                return t;
+            });
+            ImageIO.setUseCache(false);
+
+            // Two images per encoder: one being encoded while the next is drawn
+            free = new ArrayBlockingQueue<>(threads * 2);
+            for (int i = 0; i < threads * 2; i++) free.add(RenderBackend.CURRENT.createFrame(width, height));
+        }
+
+        @Override
+        public BufferedImage take() throws InterruptedException {
+            return free.take();
+        }
+
+        @Override
+        public void put(BufferedImage image, int index) throws IOException {
+            IOException e = failure.get();
+            if (e != null) throw e;
+            File file = new File(directory, String.format("frame-%06d.png", index));
+            encoders.execute(() -> {
+                try (ImageOutputStream out = ImageIO.createImageOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+                    ImageWriter writer = writers.get();
+                    ImageWriteParam param = writer.getDefaultWriteParam();
+                    param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                    param.setCompressionQuality(QUALITY);
+                    writer.setOutput(out);
+                    writer.write(null, new IIOImage(image, null, null), param);
+                } catch (IOException ex) {
+                    failure.compareAndSet(null, ex);
+                } finally {
+                    free.add(image);
+                }
+            });
+        }
+
+        @Override
+        public void finish() throws IOException, InterruptedException {
+            encoders.shutdown();
+            encoders.awaitTermination(1, TimeUnit.HOURS);
+            IOException e = failure.get();
+            if (e != null) throw e;
+        }
+    }
+
+    // Raw 8-bit RGB frames back to back, to standard output or a file. Written in order on the drawing thread,
+    // since converting to RGB is cheap next to drawing and the writes have to stay in order anyway.
+    private static class RawSink implements Sink {
+        private final OutputStream out;
+        private final BufferedImage image;
+        private final int[] row;
+        private final byte[] bytes;
+
+        RawSink(OutputStream output, int width, int height) {
+            out = new BufferedOutputStream(output, 1 << 20);
+            image = RenderBackend.CURRENT.createFrame(width, height);
+            row = new int[width];
+            bytes = new byte[width * 3];
+        }
+
+        @Override
+        public BufferedImage take() {
+            return image;
+        }
+
+        @Override
+        public void put(BufferedImage image, int index) throws IOException {
+            int width = image.getWidth();
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.getRGB(0, y, width, 1, row, 0, width);
+                for (int x = 0, b = 0; x < width; x++) {
+                    int p = row[x];
+                    bytes[b++] = (byte) (p >> 16);
+                    bytes[b++] = (byte) (p >> 8);
+                    bytes[b++] = (byte) p;
+                }
+                out.write(bytes);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            out.close();
+        }
+    }
+}
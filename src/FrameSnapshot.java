@@ -0,0 +1,188 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Everything the renderer needs to draw one game frame, copied out of the simulation after it changes. A snapshot
+// is only written while the simulation owns it in the frame TripleBuffer, so once published it doesn't change
+// until the render thread hands it back. The arrays are sized once per level and reused, so taking a snapshot
+// never allocates.
+public class FrameSnapshot {
+    // Number of leaderboard scores shown on the end screens
+    static final int TOP_SCORES = 5;
+
+    final int rows, cols, tileSize;
+
+    // Map tiles in row-major order, and for each cell the index + 1 of the enemy drawn there (0 for none)
+    final int[] tiles;
+    final int[] enemyAt;
+
+    // Enemies, as in EnemySystem but with pixel positions
+    int enemies;
+    int[] enemyType, enemyX, enemyY, enemyDir, enemyState, enemyAnim, enemyBreakCol, enemyBreakRow;
+
+    // Ice cream and fruit names, fixed for a level
+    String player1, player2, fruitA, fruitB;
+
+    // Player facing directions as codes (0 = up, 1 = right, 2 = down, 3 = left)
+    int player1Dir, player2Dir;
+
+    int player1Score, player2Score, fruitACount, fruitBCount;
+    int secondsLeft, animFrame;
+    boolean paused, victory, gameOver, player1GameOver, player2GameOver;
+    int player1GameOverFrame, player2GameOverFrame;
+    long leaderboardRank, leaderboardSize;
+
+    // Best scores on this level's leaderboard, highest first
+    final int[] topScores = new int[TOP_SCORES];
+    int topScoreCount;
+
+    // Device size to render at and the window scaling at the time of the snapshot
+    int width, height;
+    double scale;
+    int offsetX, offsetY;
+
+    public FrameSnapshot(int rows, int cols, int tileSize) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tileSize = tileSize;
+        tiles = new int[rows * cols];
+        enemyAt = new int[rows * cols];
+        allocateEnemies(16);
+    }
+
+    // Copies the map tiles
+    void captureMap(int[][] map) {
+        for (int r = 0; r < rows; r++) System.arraycopy(map[r], 0, tiles, r * cols, cols);
+    }
+
+    // Copies the enemies and marks the cells they are drawn in
+    void captureEnemies(EnemySystem s) {
+        enemies = s.size();
+        if (enemies > enemyType.length) allocateEnemies(enemies);
+        Arrays.fill(enemyAt, 0);
+        for (int i = 0; i < enemies; i++) {
+            enemyType[i] = s.type[i];
+            enemyX[i] = s.x(i);
+            enemyY[i] = s.y(i);
+            enemyDir[i] = s.dir[i];
+            enemyState[i] = s.state[i];
+            enemyAnim[i] = s.anim[i];
+            enemyBreakCol[i] = s.breakCol[i];
+            enemyBreakRow[i] = s.breakRow[i];
+            enemyAt[s.row[i] * cols + s.col[i]] = i + 1;
+        }
+    }
+
+    // Copies the window size and scaling the frame should be drawn with
+    void captureView(int width, int height) {
+        this.width = width;
+        this.height = height;
+        scale = RenderScale.scale();
+        offsetX = RenderScale.offsetX();
+        offsetY = RenderScale.offsetY();
+    }
+
+    // Fits the logical play area into a fixed device size, as RenderScale does for the window
+    void fitView(int width, int height) {
+        this.width = width;
+        this.height = height;
+        scale = Math.min(width / (double) RenderScale.width(), height / (double) RenderScale.height());
+        offsetX = (width - (int) Math.round(RenderScale.width() * scale)) / 2;
+        offsetY = (height - (int) Math.round(RenderScale.height() * scale)) / 2;
+    }
+
+    // Puts the enemies' positions and directions into SnapshotEncoder's entity layout and returns how many there are
+    int putEntities(int[] entities) {
+        for (int i = 0, offset = 0; i < enemies; i++, offset += SnapshotEncoder.ENTITY_STRIDE) {
+            entities[offset] = enemyX[i];
+            entities[offset + 1] = enemyY[i];
+            entities[offset + 2] = enemyDir[i];
+        }
+        return enemies;
+    }
+
+    // Copies the tiles and enemy positions and directions of the snapshot a SnapshotDecoder last rebuilt
+    void readDecoded(SnapshotDecoder decoder) {
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) tiles[r * cols + c] = decoder.tile(r, c);
+        }
+        enemies = decoder.entityCount();
+        if (enemies > enemyType.length) allocateEnemies(enemies);
+        for (int i = 0; i < enemies; i++) {
+            enemyX[i] = decoder.entityValue(i, 0);
+            enemyY[i] = decoder.entityValue(i, 1);
+            enemyDir[i] = decoder.entityValue(i, 2);
+        }
+    }
+
+    // Writes the rest of the game state (not the view) that SnapshotEncoder doesn't carry, for a match recording
+    void writeExtras(DataOutputStream out) throws IOException {
+        for (int i = 0; i < enemies; i++) {
+            out.writeByte(enemyType[i]);
+            out.writeByte(enemyState[i]);
+            out.writeInt(enemyAnim[i]);
+            out.writeShort(enemyBreakCol[i]);
+            out.writeShort(enemyBreakRow[i]);
+        }
+        out.writeByte(player1Dir);
+        out.writeByte(player2Dir);
+        out.writeInt(player1Score);
+        out.writeInt(player2Score);
+        out.writeShort(fruitACount);
+        out.writeShort(fruitBCount);
+        out.writeShort(secondsLeft);
+        out.writeInt(animFrame);
+        out.writeByte((paused ? 1 : 0) | (victory ? 2 : 0) | (gameOver ? 4 : 0) | (player1GameOver ? 8 : 0) | (player2GameOver ? 16 : 0));
+        out.writeShort(player1GameOverFrame);
+        out.writeShort(player2GameOverFrame);
+        out.writeLong(leaderboardRank);
+        out.writeLong(leaderboardSize);
+        out.writeByte(topScoreCount);
+        for (int i = 0; i < topScoreCount; i++) out.writeInt(topScores[i]);
+    }
+
+    // Reads back what writeExtras stored after readDecoded, marking the enemy cells again
+    void readExtras(DataInputStream in) throws IOException {
+        Arrays.fill(enemyAt, 0);
+        for (int i = 0; i < enemies; i++) {
+            enemyType[i] = in.readUnsignedByte();
+            enemyState[i] = in.readUnsignedByte();
+            enemyAnim[i] = in.readInt();
+            enemyBreakCol[i] = in.readShort();
+            enemyBreakRow[i] = in.readShort();
+            enemyAt[(enemyY[i] / tileSize) * cols + enemyX[i] / tileSize] = i + 1;
+        }
+        player1Dir = in.readUnsignedByte();
+        player2Dir = in.readUnsignedByte();
+        player1Score = in.readInt();
+        player2Score = in.readInt();
+        fruitACount = in.readShort();
+        fruitBCount = in.readShort();
+        secondsLeft = in.readShort();
+        animFrame = in.readInt();
+        int flags = in.readUnsignedByte();
+        paused = (flags & 1) != 0;
+        victory = (flags & 2) != 0;
+        gameOver = (flags & 4) != 0;
+        player1GameOver = (flags & 8) != 0;
+        player2GameOver = (flags & 16) != 0;
+        player1GameOverFrame = in.readShort();
+        player2GameOverFrame = in.readShort();
+        leaderboardRank = in.readLong();
+        leaderboardSize = in.readLong();
+        topScoreCount = in.readUnsignedByte();
+        for (int i = 0; i < topScoreCount; i++) topScores[i] = in.readInt();
+    }
+
+    private void allocateEnemies(int size) {
+        enemyType = new int[size];
+        enemyX = new int[size];
+        enemyY = new int[size];
+        enemyDir = new int[size];
+        enemyState = new int[size];
+        enemyAnim = new int[size];
+        enemyBreakCol = new int[size];
+        enemyBreakRow = new int[size];
+    }
+}
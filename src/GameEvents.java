@@ -0,0 +1,123 @@
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Flight Recorder events for game-level activity, so a recording taken on a cabinet shows which tick, repair,
+// asset or sound lines up with a frame spike. Call sites check the event type's isEnabled first and only then
+// create the event, so with no recording running they cost a field read and the movement tick stays
+// allocation-free. Durations below each threshold are dropped by the recorder.
+public class GameEvents {
+    static final EventType TICK = EventType.getEventType(SimulationTick.class);
+    static final EventType PATH_REPAIR = EventType.getEventType(PathRepair.class);
+    static final EventType ICE_STEP = EventType.getEventType(IceStep.class);
+    static final EventType ASSET_LOAD = EventType.getEventType(AssetLoad.class);
+    static final EventType LEVEL_LOAD = EventType.getEventType(LevelLoad.class);
+    static final EventType SOUND = EventType.getEventType(SoundPlayback.class);
+
+    @Name("badicecream.SimulationTick")
+    @Label("Simulation Tick")
+    @Category({"Bad Ice Cream", "Simulation"})
+    @Description("Player movement, ice trails and enemies for one movement tick")
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static class SimulationTick extends Event {
+        @Label("Entities")
+        int entities;
+
+        @Label("Ice Trails")
+        int iceTrails;
+    }
+
+    @Name("badicecream.PathRepair")
+    @Label("Path Repair")
+    @Category({"Bad Ice Cream", "Simulation"})
+    @Description("Repair of one chaser distance field within the tick's AI budget")
+    @Threshold("200 us")
+    @StackTrace(false)
+    static class PathRepair extends Event {
+        @Label("Route Group")
+        int group;
+
+        @Label("Player")
+        int player;
+
+        @Label("Chasers")
+        int chasers;
+
+        @Label("Cells Expanded")
+        long expanded;
+
+        @Label("Finished")
+        boolean finished;
+    }
+
+    @Name("badicecream.IceStep")
+    @Label("Ice Step")
+    @Category({"Bad Ice Cream", "Simulation"})
+    @Description("One tile of an ice trail forming or breaking")
+    @StackTrace(false)
+    static class IceStep extends Event {
+        @Label("Column")
+        int col;
+
+        @Label("Row")
+        int row;
+
+        @Label("Breaking")
+        boolean breaking;
+    }
+
+    @Name("badicecream.AssetLoad")
+    @Label("Asset Load")
+    @Category({"Bad Ice Cream", "Assets"})
+    @Description("Reading and decoding one image file")
+    @Threshold("0 ms")
+    static class AssetLoad extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("File Size")
+        @DataAmount
+        long bytes;
+
+        @Label("Converted")
+        @Description("Decoded into a format the display doesn't draw directly and converted")
+        boolean converted;
+    }
+
+    @Name("badicecream.LevelLoad")
+    @Label("Level Load")
+    @Category({"Bad Ice Cream", "Assets"})
+    @Description("Loading and analysing a level when it starts")
+    @Threshold("0 ms")
+    @StackTrace(false)
+    static class LevelLoad extends Event {
+        @Label("Level")
+        int level;
+
+        @Label("Enemies")
+        int enemies;
+
+        @Label("Fruit")
+        int fruit;
+    }
+
+    @Name("badicecream.SoundPlayback")
+    @Label("Sound Playback")
+    @Category({"Bad Ice Cream", "Audio"})
+    @Description("Opening and starting a sound clip")
+    @Threshold("0 ms")
+    static class SoundPlayback extends Event {
+        @Label("Path")
+        String path;
+
+        @Label("Loop")
+        boolean loop;
+    }
+}
@@ -0,0 +1,135 @@
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// Live counters for operators, readable with JConsole or any JMX client while the game runs. The game records
+// into fixed rings without allocating; rates and percentiles are worked out when a client reads them.
+public class GameMetrics implements GameMetricsMBean {
+    static final GameMetrics INSTANCE = new GameMetrics();
+
+    // Recent movement ticks, painted game frames and path repairs
+    private final MetricWindow ticks = new MetricWindow(256);
+    private final MetricWindow frames = new MetricWindow(256);
+    private final MetricWindow repairs = new MetricWindow(1024);
+
+    // Latest values from the running level
+    private volatile int enemies, iceTrails;
+
+    // Registers the MBean with the platform server, once at start-up
+    static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName("badicecream:type=GameMetrics"));
+        } catch (JMException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Records a movement tick that started at start (System.nanoTime) and took nanos
+    static void tick(long start, long nanos, int enemyCount, int trails) {
+        INSTANCE.ticks.record(start, nanos);
+        INSTANCE.enemies = enemyCount;
+        INSTANCE.iceTrails = trails;
+    }
+
+    // Records a painted game frame
+    static void frame(long start, long nanos) {
+        INSTANCE.frames.record(start, nanos);
+    }
+
+    // Records a distance field repair that did work
+    static void pathRepair(long now) {
+        INSTANCE.repairs.record(now, 0);
+    }
+
+    @Override
+    public double getTicksPerSecond() {
+        return ticks.perSecond();
+    }
+
+    @Override
+    public double getFramesPerSecond() {
+        return frames.perSecond();
+    }
+
+    @Override
+    public double getTickP99Millis() {
+        return ticks.p99() / 1e6;
+    }
+
+    @Override
+    public double getFrameP99Millis() {
+        return frames.p99() / 1e6;
+    }
+
+    @Override
+    public int getEnemies() {
+        return enemies;
+    }
+
+    @Override
+    public double getPathRepairsPerSecond() {
+        return repairs.perSecond();
+    }
+
+    @Override
+    public int getIceTrails() {
+        return iceTrails;
+    }
+
+    @Override
+    public int getLiveThreads() {
+        return ManagementFactory.getThreadMXBean().getThreadCount();
+    }
+
+    @Override
+    public int getOpenClips() {
+        return Main.openClips.get();
+    }
+
+    @Override
+    public long getAssetCacheBytes() {
+        return Assets.cacheBytes();
+    }
+
+    @Override
+    public long getSpriteCacheBytes() {
+        return SpriteCache.bytes();
+    }
+}
+
+// Ring of the most recent samples (start time and duration), recorded on the EDT and read by JMX threads
+class MetricWindow {
+    private final long[] starts, durations;
+    private int next = 0, count = 0;
+
+    MetricWindow(int capacity) {
+        starts = new long[capacity];
+        durations = new long[capacity];
+    }
+
+    synchronized void record(long start, long nanos) {
+        starts[next] = start;
+        durations[next] = nanos;
+        next = (next + 1) % starts.length;
+        count = Math.min(count + 1, starts.length);
+    }
+
+    // Samples that started within the last second (capped at the ring size)
+    synchronized double perSecond() {
+        long since = System.nanoTime() - 1_000_000_000L;
+        int n = 0;
+        for (int k = 0; k < count; k++) {
+            if (starts[k] - since > 0) n++;
+        }
+        return n;
+    }
+
+    // 99th percentile duration of the samples in the ring, in nanoseconds
+    synchronized long p99() {
+        if (count == 0) return 0;
+        long[] sorted = Arrays.copyOf(durations, count);
+        Arrays.sort(sorted);
+        return sorted[Math.min(count - 1, (int) Math.ceil(count * 0.99) - 1)];
+    }
+}
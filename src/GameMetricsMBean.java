@@ -0,0 +1,24 @@
+// Live health counters published over JMX as badicecream:type=GameMetrics (see GameMetrics)
+public interface GameMetricsMBean {
+    double getTicksPerSecond();
+
+    double getFramesPerSecond();
+
+    double getTickP99Millis();
+
+    double getFrameP99Millis();
+
+    int getEnemies();
+
+    double getPathRepairsPerSecond();
+
+    int getIceTrails();
+
+    int getLiveThreads();
+
+    int getOpenClips();
+
+    long getAssetCacheBytes();
+
+    long getSpriteCacheBytes();
+}
@@ -2,16 +2,11 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.*;
-import java.util.List;
-import javax.imageio.ImageIO;
-import javax.swing.Timer;
 
 // Main game class, handles game screen and controls
-public class GamePanel extends JPanel implements ActionListener, KeyListener, MouseListener  {
+public class GamePanel extends JPanel implements ActionListener, KeyListener, MouseListener, Screen  {
     // Constants for tile size and grid dimensions
     private final int TILE_SIZE = 35;
     private final int ROWS = 18;
@@ -46,8 +41,9 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     // Currently used fruit types
     private String fruitA, fruitB;
 
-    // Tracks currently pressed keys for smoother movement
-    private final Set<Integer> pressedKeys = new HashSet<>();
+    // Held keys and buffered key events for each player (arrow keys + SPACE, WASD + F)
+    private final PlayerInput player1Input = new PlayerInput(KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_UP, KeyEvent.VK_DOWN, KeyEvent.VK_SPACE);
+    private final PlayerInput player2Input = new PlayerInput(KeyEvent.VK_A, KeyEvent.VK_D, KeyEvent.VK_W, KeyEvent.VK_S, KeyEvent.VK_F);
 
     // Timing control for player movement delay
     private long lastMoveTimeP1 = 0;
@@ -57,23 +53,21 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     // Stores what's under players so tiles can be restored
     int[][] tileUnderPlayer = new int[map.length][map[0].length];
 
-    // Clickable UI bounds for pause/restart/menu
-    private Rectangle pauseBounds, restartBounds, resumeRect, menuRect;
-
     // Pause flag for game state
     public static boolean isPaused = false;
 
-    // Maps for animations and images
-    private final Map<String, List<BufferedImage>> fruitAnimations = new HashMap<>();
-    private final Map<String, List<BufferedImage>> playerAnimations = new HashMap<>();
-    private final Map<String, BufferedImage> staticImages = new HashMap<>();
-    private final List<int[]> snowBumpPositions = new ArrayList<>();
-    private final List<Enemy> enemies = new ArrayList<>();
+    // Enemies on the level
+    private final EnemySystem enemies = new EnemySystem(ROWS, COLS, TILE_SIZE);
+
+    // Draws frames on the render thread from snapshots this panel publishes after every change, so painting never
+    // runs on the event thread alongside the input handling and movement tick
+    private final GameRenderer renderer = new GameRenderer(ROWS, COLS);
+    private final TripleBuffer<FrameSnapshot> frames = new TripleBuffer<>(
+            new FrameSnapshot(ROWS, COLS, TILE_SIZE), new FrameSnapshot(ROWS, COLS, TILE_SIZE), new FrameSnapshot(ROWS, COLS, TILE_SIZE));
+    private RenderThread renderThread;
 
-    // UI elements
-    BufferedImage pauseIcon, restartIcon, footerFrame, frameImage;
-    Map<String, BufferedImage> timerIcon = new HashMap<>();
-    Map<String, BufferedImage> fruitDisplayImages = new HashMap<>();
+    // Writes every published frame to a file for FrameExporter, when enabled with -Dmatch.record
+    private MatchRecorder recorder;
 
     // Time management variables
     long levelStartTime = System.currentTimeMillis();
@@ -81,6 +75,27 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     long pauseStartTime = 0;
     long totalPausedTime = 0;
 
+    // Set once the result of this match has been saved, along with its leaderboard rank
+    private boolean resultRecorded = false;
+    private long leaderboardRank = 0;
+    private long leaderboardSize = 0;
+    private final int[] topScores = new int[FrameSnapshot.TOP_SCORES];
+    private int topScoreCount = 0;
+
+    // Last seconds of play for rewinding (hold BACKSPACE while playing; [ and ] step back and forward while paused)
+    private final RewindBuffer rewind = new RewindBuffer();
+    private boolean rewindHeld = false;
+
+    // Player directions by the code from directionCode, as stored in rewind frames
+    private static final String[] DIRECTIONS = {"up", "side", "down", "side"};
+
+    // Values at the start of each rewind frame before the enemies and ice trails
+    private static final int REWIND_HEADER = 14;
+
+    // Computer player driving one of the ice creams through its input, when enabled with -Dbot.player
+    private final MctsBot bot = MctsBot.PLAYER == 0 ? null
+            : new MctsBot(ROWS, COLS, MctsBot.PLAYER - 1, MctsBot.PLAYER == 1 ? player1Input : player2Input);
+
     // Constructor initializes level, players, images, animations, and timers
     public GamePanel(int level, String player1, String player2) {
         setPreferredSize(new Dimension(COLS * TILE_SIZE, ROWS * TILE_SIZE));
@@ -107,139 +122,99 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         lastMoveTimeP1 = 0;
         lastMoveTimeP2 = 0;
         levelStartTime = System.currentTimeMillis();
-        pressedKeys.clear();
+        player1Input.clear();
+        player2Input.clear();
         enemies.clear();
-        snowBumpPositions.clear();
+        Ice.reset(ROWS, COLS);
 
-        // Load game assets and level data
-        loadImages();
-        generateSnowBumpPositions();
+        // Load level data
+        GameEvents.LevelLoad levelEvent = GameEvents.LEVEL_LOAD.isEnabled() ? new GameEvents.LevelLoad() : null;
+        if (levelEvent != null) levelEvent.begin();
         loadLevelFromFile(level);
+        analyzeLevel();
+        rewind.reset(map, tileUnderPlayer, EnemySystem.storedFruits, Ice.storedFruits());
+        if (levelEvent != null) {
+            levelEvent.level = level;
+            levelEvent.enemies = enemies.size();
+            levelEvent.fruit = fruitACount + fruitBCount;
+            levelEvent.commit();
+        }
 
         // Start animation and movement timers
         int ANIM_DELAY = 200;
-        Timer animationTimer = new Timer(ANIM_DELAY, this);
-        animationTimer.start();
-        Timer movementTimer = new Timer(50, _ -> updatePlayerMovement());
-        movementTimer.start();
+        Scheduler.every(this, ANIM_DELAY, this);
+        Scheduler.every(this, EnemySystem.TICK_MS, _ -> movementTick());
+    }
 
-        // Play background music
+    // Starts the level clock and music once the panel is actually on screen
+    @Override
+    public void enter() {
+        levelStartTime = System.currentTimeMillis();
         Main.stopSound();
         Main.playSound("../graphics/sounds/GameMusic.wav", true);
+        recorder = MatchRecorder.start(level);
+        renderThread = new RenderThread(this, renderer, frames);
+        renderThread.start();
+        publishFrame();
     }
 
-    // Load all required images and animations from disk
-    private void loadImages() {
-        try {
-            staticImages.put("corner", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/blue_square.png"))));
-            staticImages.put("wall_0", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/blue_box.png"))));
-            staticImages.put("wall_1", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/green_box.png"))));
-            staticImages.put("wall_2", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/brown_box.png"))));
-            staticImages.put("wall_3", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/blue_dotted_box.png"))));
-            staticImages.put("snow_bump", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/snow_bumps.png"))));
-            staticImages.put("ice", trimWhitespace(ImageIO.read(new File("../graphics/images/map/ice/ice10.png"))));
-            staticImages.put("building_0", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/igloo.png"))));
-            staticImages.put("building_1", trimWhitespace(ImageIO.read(new File("../graphics/images/map/buildings/snowman.png"))));
-            staticImages.put("footerFrame", trimWhitespace(ImageIO.read(new File("../graphics/images/map/frames/small_wide_frame.png"))));
-            staticImages.put("pauseIcon", trimWhitespace(ImageIO.read(new File("../graphics/images/map/display/pause.png"))));
-            staticImages.put("restartIcon", trimWhitespace(ImageIO.read(new File("../graphics/images/map/display/restart.png"))));
-            footerFrame = staticImages.get("footerFrame");
-            pauseIcon = staticImages.get("pauseIcon");
-            restartIcon = staticImages.get("restartIcon");
-            frameImage = ImageIO.read(new File("../graphics/images/map/frames/blank_rectangle_frame.png"));
-
-            // Load animated fruits and their static display versions
-            String[] fruitTypes = {"banana", "grapes", "pineapple", "watermelon"};
-            for (String fruit : fruitTypes) {
-                List<BufferedImage> frames = loadAnimationFrames("../graphics/images/fruit/" + fruit);
-
-                List<BufferedImage> trimmedFrames = new ArrayList<>();
-                for (BufferedImage frame : frames) {
-                    trimmedFrames.add(trimWhitespace(frame));
-                }
-                fruitAnimations.put(fruit, trimmedFrames);
-                fruitDisplayImages.put(fruit, ImageIO.read(new File("../graphics/images/fruit/" + fruit + "_consumed_display.png")));
-            }
-
-            // Load animated timer frames
-            List<BufferedImage> timerFrames = loadAnimationFrames("../graphics/images/map/timer");
-            for (int i = 0; i < timerFrames.size(); i++) {
-                timerIcon.put("frame" + i, timerFrames.get(i));
-            }
-
-            // Load animated player states for each type and direction
-            String[] playerTypes = {"vanilla", "chocolate", "strawberry"};
-            String[] playerStates = {"up", "down", "side", "game_over", "victory"};
-            for (String player : playerTypes) {
-                for (String state : playerStates) {
-                    List<BufferedImage> frames = loadAnimationFrames("../graphics/images/players/" + player + "/" + state);
-                    playerAnimations.put(player + "/" + state, frames);
-                }
-            }
-
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
-        }
-    }
-
-    // Loads all PNG frames in a given folder as animation frames
-    private List<BufferedImage> loadAnimationFrames(String dirPath) throws IOException {
-        File dir = new File(dirPath);
-        File[] allFiles = dir.listFiles();
-        List<File> imageFiles = new ArrayList<>();
-
-        if (allFiles != null) {
-            for (File file : allFiles) {
-                String name = file.getName();
-                if (name.endsWith(".png")) {
-                    imageFiles.add(file);
-                }
-            }
-        }
-
-        // Ensure animation frames are loaded in correct sequence
-        imageFiles.sort(Comparator.comparing(File::getName));
-        List<BufferedImage> frames = new ArrayList<>();
-        for (File f : imageFiles) {
-            frames.add(ImageIO.read(f));
-        }
-        return frames;
+    // Stops the render thread and finishes the recording once the panel leaves the window
+    @Override
+    public void exit() {
+        if (renderThread != null) renderThread.finish();
+        if (recorder != null) recorder.close();
     }
 
-    // Loads the map and objects from a level file (e.g., level1.txt)
+    // Assets that must be resident before a level is shown
+    static final String[] ASSETS = {
+            "../graphics/images/map/buildings/blue_square.png",
+            "../graphics/images/map/buildings/blue_box.png",
+            "../graphics/images/map/buildings/green_box.png",
+            "../graphics/images/map/buildings/brown_box.png",
+            "../graphics/images/map/buildings/blue_dotted_box.png",
+            "../graphics/images/map/buildings/snow_bumps.png",
+            "../graphics/images/map/ice/ice10.png",
+            "../graphics/images/map/buildings/igloo.png",
+            "../graphics/images/map/buildings/snowman.png",
+            "../graphics/images/map/frames/small_wide_frame.png",
+            "../graphics/images/map/display/pause.png",
+            "../graphics/images/map/display/restart.png",
+            "../graphics/images/map/frames/blank_rectangle_frame.png",
+            "../graphics/images/fruit/banana", "../graphics/images/fruit/banana_consumed_display.png",
+            "../graphics/images/fruit/grapes", "../graphics/images/fruit/grapes_consumed_display.png",
+            "../graphics/images/fruit/pineapple", "../graphics/images/fruit/pineapple_consumed_display.png",
+            "../graphics/images/fruit/watermelon", "../graphics/images/fruit/watermelon_consumed_display.png",
+            "../graphics/images/map/timer",
+            "../graphics/images/players/vanilla/up", "../graphics/images/players/vanilla/down", "../graphics/images/players/vanilla/side",
+            "../graphics/images/players/vanilla/game_over", "../graphics/images/players/vanilla/victory",
+            "../graphics/images/players/chocolate/up", "../graphics/images/players/chocolate/down", "../graphics/images/players/chocolate/side",
+            "../graphics/images/players/chocolate/game_over", "../graphics/images/players/chocolate/victory",
+            "../graphics/images/players/strawberry/up", "../graphics/images/players/strawberry/down", "../graphics/images/players/strawberry/side",
+            "../graphics/images/players/strawberry/game_over", "../graphics/images/players/strawberry/victory",
+            "../graphics/images/enemies/halo/up", "../graphics/images/enemies/halo/down", "../graphics/images/enemies/halo/side",
+            "../graphics/images/enemies/monster/up", "../graphics/images/enemies/monster/down", "../graphics/images/enemies/monster/side",
+            "../graphics/images/enemies/icebreaker/up", "../graphics/images/enemies/icebreaker/down", "../graphics/images/enemies/icebreaker/side",
+            "../graphics/images/enemies/icebreaker/up/break_ice", "../graphics/images/enemies/icebreaker/down/break_ice",
+            "../graphics/images/enemies/icebreaker/side/break_ice",
+            "../graphics/images/map/ice/ice1.png", "../graphics/images/map/ice/ice2.png", "../graphics/images/map/ice/ice3.png",
+            "../graphics/images/map/ice/ice_break1.png", "../graphics/images/map/ice/ice_break2.png", "../graphics/images/map/ice/ice_break3.png"
+    };
+
+    // Loads the map and objects for a level from the level pack (or its loose level file)
     private void loadLevelFromFile(int levelIndex) {
-        String filename = "level" + levelIndex + ".txt";
-        try (Scanner scanner = new Scanner(new File(filename))) {
-            for (int row = 0; row < ROWS; row++) {
-                if (!scanner.hasNextLine()) break;
-
-                String line = scanner.nextLine().trim();
-                String[] tokens = line.split("\\s+");
-
-                for (int col = 0; col < COLS && col < tokens.length; col++) {
-                    try {
-                        map[row][col] = Integer.parseInt(tokens[col]);
-                    } catch (NumberFormatException e) {
-                        map[row][col] = 0;
-                    }
+        try {
+            int[][] tiles = LevelPack.load(levelIndex);
+            for (int row = 0; row < ROWS && row < tiles.length; row++) {
+                for (int col = 0; col < COLS && col < tiles[row].length; col++) {
+                    map[row][col] = tiles[row][col];
 
                     int tile = map[row][col];
                     int type = tile / 10;
                     int subtype = tile % 10;
 
                     // Add enemy objects based on tile encoding
-                    if (type == 3 && subtype >= 0 && subtype < 3) {
-                        int x = col * TILE_SIZE;
-                        int y = row * TILE_SIZE;
-
-                        Enemy enemy = switch (subtype) {
-                            case 0 -> new Halo(x, y, TILE_SIZE);
-                            case 1 -> new IceBreaker(x, y, TILE_SIZE);
-                            case 2 -> new Monster(x, y, TILE_SIZE);
-                            default -> null;
-                        };
-
-                        enemies.add(enemy);
+                    if (type == 3 && EnemyTypes.isDefined(subtype)) {
+                        enemies.add(subtype, col, row);
                     }
 
                     // Count fruits to determine footer animation behavior
@@ -266,135 +241,20 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                 }
             }
             // Fallback to blank map
-        } catch (FileNotFoundException e) {
-            System.err.println("Level file not found: " + filename);
+        } catch (IOException e) {
+            System.err.println("Level file not found: " + e.getMessage());
             for (int row = 0; row < ROWS; row++)
                 Arrays.fill(map[row], 6);
         }
     }
 
-    // Displays player score and timer at the top of the screen
-    private void drawHeader(Graphics g) {
-        int baseY = 10;
-        int padding = TILE_SIZE + 5;
-
-        Graphics2D g2d = (Graphics2D) g;
-        Font scoreFont = new Font("Arial", Font.BOLD, 20);
-        Font timerFont = new Font("Arial", Font.BOLD, 18);
-
-        // Draw player 1 avatar
-        List<BufferedImage> p1Frames = playerAnimations.get(player1 + "/down");
-        BufferedImage p1Frame = p1Frames.get(animFrame % p1Frames.size());
-        g2d.drawImage(p1Frame, padding, baseY, TILE_SIZE, TILE_SIZE, null);
-
-        // Draw player 1 score (6 digits)
-        String score1 = String.format("%06d", player1Score);
-        int score1X = padding + TILE_SIZE + 5;
-        int score1Y = baseY + TILE_SIZE / 2 + baseY;
-        drawOutlinedText(g2d, score1, score1X, score1Y, Color.YELLOW, scoreFont);
-
-        // Draw player 2 avatar
-        List<BufferedImage> p2Frames = playerAnimations.get(player2 + "/down");
-        BufferedImage p2Frame = p2Frames.get(animFrame % p2Frames.size());
-        g2d.drawImage(p2Frame, padding + TILE_SIZE * 4, baseY, TILE_SIZE, TILE_SIZE, null);
-
-        // Draw player 1 score (6 digits)
-        String score2 = String.format("%06d", player2Score);
-        int score2X = padding + TILE_SIZE * 4 + padding + 5;
-        int score2Y = baseY + TILE_SIZE / 2 + baseY;
-        drawOutlinedText(g2d, score2, score2X, score2Y, Color.PINK, scoreFont);
-
-        // Calculate remaining time
-        long timeLeft;
-        int seconds;
-        if (isPaused) {
-            timeLeft = Math.max(0, levelDuration - (pauseStartTime - levelStartTime - totalPausedTime));
-        } else {
-            timeLeft = Math.max(0, levelDuration - (System.currentTimeMillis() - levelStartTime - totalPausedTime));
+    // Runs (or fetches the cached) level analysis, shares it with the enemies and reports broken levels
+    private void analyzeLevel() {
+        LevelAnalysis analysis = LevelAnalyzer.analyze(map);
+        EnemySystem.levelAnalysis = analysis;
+        if (!analysis.isPlayable()) {
+            System.err.println("Level " + level + " may not be completable: " + analysis.summary());
         }
-        seconds = (int) (timeLeft / 1000);
-        String timeStr = String.format("%02d:%02d", seconds / 60, seconds % 60);
-
-        // Draw animated timer icon
-        BufferedImage timerFrame = timerIcon.get("frame" + (animFrame % timerIcon.size()));
-        int timerX = getWidth() / 2 - TILE_SIZE / 2;
-        g2d.drawImage(timerFrame, timerX - padding / 9 + 15, baseY, TILE_SIZE, TILE_SIZE, null);
-
-        // Draw remaining time text beside timer
-        int timerTextX = timerX - padding / 9 + TILE_SIZE + 25;
-        int timerTextY = baseY + TILE_SIZE / 2 + baseY;
-        drawOutlinedText(g2d, timeStr, timerTextX, timerTextY, Color.WHITE, timerFont);
-
-        // Define bounds and draw restart and pause icons (used for click detection)
-        int iconSize = TILE_SIZE - 15;
-        int restartX = getWidth() - 2 * iconSize - 50;
-        int pauseX = getWidth() - iconSize - 100;
-
-        restartBounds = new Rectangle(restartX, baseY + 8, iconSize, iconSize);
-        pauseBounds = new Rectangle(pauseX, baseY + 8, iconSize, iconSize);
-        g2d.drawImage(restartIcon, restartX, baseY + 8, iconSize, iconSize, null);
-        g2d.drawImage(pauseIcon, pauseX, baseY + 8, iconSize, iconSize, null);
-    }
-
-    // Displays current fruit on the map at the bottom of the screen
-    private void drawFooter(Graphics g) {
-        // Draw the wooden frame of the footer UI
-        int frameWidth = TILE_SIZE * 12;
-        int frameHeight = (int)(TILE_SIZE * 1.5);
-        int frameX = getWidth() / 2 - TILE_SIZE * 6;
-        int frameY = getHeight() - footerFrame.getHeight() - (int)(TILE_SIZE * 0.4);
-
-        g.drawImage(footerFrame, frameX, frameY, frameWidth, frameHeight, null);
-
-        // Determine which fruit type should animate
-        List<BufferedImage> fruitAFrames;
-        List<BufferedImage> fruitBFrames;
-
-        // If fruitA is on the map, animate fruitA, fruitB is static
-        if (fruitACount > 0) {
-            fruitAFrames = fruitAnimations.get(fruitA);
-            fruitBFrames = List.of(fruitDisplayImages.get(fruitB));
-            // Otherwise, fruitA is static and fruitB is animated
-        } else {
-            fruitAFrames = List.of(fruitDisplayImages.get(fruitA));
-            fruitBFrames = fruitAnimations.get(fruitB);
-        }
-
-        // Get current animation frame for each fruit
-        BufferedImage fruitAFrame = fruitAFrames.get(animFrame % fruitAFrames.size());
-        BufferedImage fruitBFrame = fruitBFrames.get(animFrame % fruitBFrames.size());
-
-        // Calculate position and spacing to make fruits centered in the frame
-        int fruitSize = TILE_SIZE;
-        int spacing = 10;
-        int totalWidth = fruitSize * 2 + spacing;
-
-        int startX = frameX + (frameWidth - totalWidth) / 2;
-        int fruitY = frameY + (frameHeight - fruitSize) / 2;
-
-        // Draw fruits side by side
-        g.drawImage(fruitAFrame, startX, fruitY, fruitSize, fruitSize, null);
-        g.drawImage(fruitBFrame, startX + fruitSize + spacing, fruitY, fruitSize, fruitSize, null);
-    }
-
-    private void drawOutlinedText(Graphics2D g, String text, int x, int y, Color fillColor, Font font) {
-        // Draws text with black outline by rendering multiple offsets around the text
-        g.setFont(font);
-        g.setColor(Color.BLACK);
-
-        // Offsets for 8 directions to simulate outline
-        g.drawString(text, x - 1, y - 1);
-        g.drawString(text, x - 1, y + 1);
-        g.drawString(text, x + 1, y - 1);
-        g.drawString(text, x + 1, y + 1);
-        g.drawString(text, x - 1, y);
-        g.drawString(text, x + 1, y);
-        g.drawString(text, x, y - 1);
-        g.drawString(text, x, y + 1);
-
-        // Draw filled center text
-        g.setColor(fillColor);
-        g.drawString(text, x, y);
     }
 
     // Returns the fruit name based on its type value.
@@ -408,229 +268,6 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
         };
     }
 
-    // Randomly generates positions on the screen for decorative snow bump images.
-    private void generateSnowBumpPositions() {
-        BufferedImage bump = staticImages.get("snow_bump");
-        if (bump != null) {
-            int bumpWidth = bump.getWidth();
-            int bumpHeight = bump.getHeight();
-
-            // Total number of snow bumps to place
-            int numBumps = 20;
-            for (int i = 0; i < numBumps; i++) {
-                // Adds the position of the snow bump to snowBumpPositions
-                int randX = (int)(Math.random() * (COLS * TILE_SIZE - bumpWidth));
-                int randY = (int)(Math.random() * (ROWS * TILE_SIZE - bumpHeight));
-                snowBumpPositions.add(new int[]{randX, randY});
-            }
-        }
-    }
-
-    // Main rendering method for the game panel.
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        // Set background color
-        g.setColor(new Color(246, 254, 254, 255));
-        g.fillRect(0, 0, getWidth(), getHeight());
-
-        // Draw all randomly placed snow bump decorations
-        BufferedImage bump = staticImages.get("snow_bump");
-        if (bump != null) {
-            for (int[] pos : snowBumpPositions) {
-                g.drawImage(bump, pos[0], pos[1], null);
-            }
-        }
-
-        // Draw the tile map
-        for (int row = 0; row < ROWS; row++) {
-            for (int col = 0; col < COLS; col++) {
-                int x = col * TILE_SIZE;
-                int y = row * TILE_SIZE;
-                int tile = map[row][col];
-
-                int type, subtype;
-                if (tile < 10) {
-                    type = tile;
-                    subtype = 0;
-                    // Fruit tile
-                } else if (tile >= 100) {
-                    type = tile / 100;
-                    subtype = tile % 100;
-                    // Player tile, enemy tile, wall tile
-                } else {
-                    type = tile / 10;
-                    subtype = tile % 10;
-                }
-
-                // Draw tile content based on type
-                switch (type) {
-                    case 0 -> {
-                        if (row % 2 == 0 && col % 2 == 0) {
-                            drawImage(g, "corner", x, y, TILE_SIZE * 2, TILE_SIZE * 2);
-                        }
-                    }
-                    case 1 -> drawImage(g, "wall_" + subtype, x, y, TILE_SIZE, TILE_SIZE);
-                    case 2 -> drawImage(g, "ice", x, y, TILE_SIZE, TILE_SIZE);
-                    case 3 -> drawEnemy(g);
-                    case 4 -> drawPlayer(g, subtype, x, y);
-                    case 5 -> drawFruit(g, subtype, x, y);
-                    case 7 -> {
-                        if (row % 4 == 0 && col % 4 == 0) {
-                            drawImage(g, "building_" + subtype, x - TILE_SIZE, (int)(y - TILE_SIZE * 1.5), TILE_SIZE * 4, TILE_SIZE * 4);
-                        }
-                    }
-                }
-            }
-        }
-
-        // UI overlay
-        drawFooter(g);
-        drawHeader(g);
-
-        // Game state overlays
-        if (isPaused) pause(g);
-        if (GameState.victory) victory(g);
-        else if (GameState.gameOver) gameOver(g);
-    }
-
-    // Draws a specific image from the static image map
-    private void drawImage(Graphics g, String key, int x, int y, int w, int h) {
-        BufferedImage original = staticImages.get(key);
-        if (original != null) {
-            g.drawImage(original, x, y, w, h, null);
-        }
-    }
-
-    // Removes surrounding transparent pixels from an image
-    private BufferedImage trimWhitespace(BufferedImage image) {
-        int width = image.getWidth(), height = image.getHeight();
-        int top = 0, left = 0, right = width - 1, bottom = height - 1;
-        boolean found = false;
-
-        // Find top boundary
-        for (int y = 0; y < height && !found; y++)
-            for (int x = 0; x < width; x++)
-                if ((image.getRGB(x, y) >> 24) != 0x00) { top = y; found = true; break; }
-
-        // Find bottom boundary
-        found = false;
-        for (int y = height - 1; y >= 0 && !found; y--)
-            for (int x = 0; x < width; x++)
-                if ((image.getRGB(x, y) >> 24) != 0x00) { bottom = y; found = true; break; }
-
-        // Find left boundary
-        found = false;
-        for (int x = 0; x < width && !found; x++)
-            for (int y = 0; y < height; y++)
-                if ((image.getRGB(x, y) >> 24) != 0x00) { left = x; found = true; break; }
-
-        // Find right boundary
-        found = false;
-        for (int x = width - 1; x >= 0 && !found; x--)
-            for (int y = 0; y < height; y++)
-                if ((image.getRGB(x, y) >> 24) != 0x00) { right = x; found = true; break; }
-
-        // Crop the image
-        return image.getSubimage(left, top, right - left + 1, bottom - top + 1);
-    }
-
-    // Updates and draws all enemies on the screen
-    private void drawEnemy(Graphics g) {
-        // Loops through all the enemies
-        for (Enemy enemy : enemies) {
-            enemy.update(map, player1X, player1Y, player2X, player2Y);
-            enemy.draw(g);
-        }
-    }
-
-    // Draws fruit with animated frames based on the subtype
-    private void drawFruit(Graphics g, int subtype, int x, int y) {
-        int fruitIndex = subtype / 10;
-        int fruitSet = subtype % 10;
-
-        // Determine which fruit set to draw based on game logic
-        if ((fruitSet == 0 && fruitACount > 0) || (fruitSet == 1 && fruitACount == 0)) {
-            String[] fruits = {"banana", "grapes", "pineapple", "watermelon"};
-            if (fruitIndex >= 0 && fruitIndex < fruits.length) {
-                List<BufferedImage> frames = fruitAnimations.get(fruits[fruitIndex]);
-                if (frames != null && !frames.isEmpty()) {
-                    BufferedImage frame = frames.get(animFrame % frames.size());
-
-                    // Special offset for watermelon
-                    if (fruits[fruitIndex].equals("watermelon")) {
-                        int offset = (int)(TILE_SIZE * 0.18);
-                        g.drawImage(frame, x + offset, y + offset, TILE_SIZE - 10, TILE_SIZE - 10, null);
-                    } else {
-                        g.drawImage(frame, x, y, TILE_SIZE - 10, TILE_SIZE - 10, null);
-                    }
-                }
-            }
-        }
-    }
-
-    // Draws player character with animation frames depending on state
-    private void drawPlayer(Graphics g, int subtype, int x, int y) {
-        String playerType = (subtype == 1) ? player2 : player1;
-        String direction = (subtype == 1) ? player2Dir : player1Dir;
-        boolean facingRight = (subtype == 1) ? player2Right : player1Right;
-
-        boolean isGameOver = (subtype == 0) ? GameState.player1GameOver : GameState.player2GameOver;
-        int gameOverFrame = (subtype == 0) ? GameState.player1GameOverFrame : GameState.player2GameOverFrame;
-
-        // Draw game-over animation
-        if (isGameOver) {
-            String animationKey = playerType + "/game_over";
-            List<BufferedImage> frames = playerAnimations.get(animationKey);
-            if (frames != null && frames.size() >= 15) {
-                int frameIndex = Math.min(gameOverFrame / 5, 14);
-                g.drawImage(frames.get(frameIndex), x, y, TILE_SIZE, TILE_SIZE, null);
-
-                // Advance animation frame counter
-                if (frameIndex < 14) {
-                    if (subtype == 0) GameState.player1GameOverFrame++;
-                    else GameState.player2GameOverFrame++;
-                }
-            }
-            return;
-        }
-
-        // Draw victory animation
-        if (GameState.victory) {
-            String animationKey = playerType + "/victory";
-            List<BufferedImage> frames = playerAnimations.get(animationKey);
-            if (frames != null && !frames.isEmpty()) {
-                BufferedImage frame = frames.get(animFrame % frames.size());
-                g.drawImage(frame, x, y, TILE_SIZE, TILE_SIZE, null);
-            }
-            return;
-        }
-
-        // Draw regular movement animation
-        String animKey = playerType + "/" + direction;
-        List<BufferedImage> frames = playerAnimations.get(animKey);
-        if (frames != null && !frames.isEmpty()) {
-            BufferedImage frame = frames.get(animFrame % frames.size());
-
-            // Flip sprite horizontally if not facing right
-            if (direction.equals("side") && !facingRight) {
-                frame = flipImage(frame);
-            }
-            g.drawImage(frame, x, y, TILE_SIZE, TILE_SIZE, null);
-        }
-    }
-
-    // Flips an image horizontally (used for rendering sprites facing opposite directions)
-    protected BufferedImage flipImage(BufferedImage img) {
-        BufferedImage flipped = new BufferedImage(img.getWidth(), img.getHeight(), BufferedImage.TYPE_INT_ARGB);
-        Graphics2D g2 = flipped.createGraphics();
-        // Draw the image with negative width to flip it
-        g2.drawImage(img, img.getWidth(), 0, -img.getWidth(), img.getHeight(), null);
-        g2.dispose();
-        return flipped;
-    }
-
     // Checks if a player has collided with a fruit tile, adds score, and updates map
     private void checkFruitCollision(int player, int playerX, int playerY) {
         int pRow = playerY / TILE_SIZE;
@@ -658,18 +295,27 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                 // Trigger victory if all fruit collected
                 if(fruitACount == 0 && fruitBCount == 0) {
                     GameState.victory = true;
+                    if (!resultRecorded) recordResult(true);
+                    // Play victory sound and unlock next level
+                    Main.playSound("../graphics/sounds/WinMusic.wav", false);
+                    LevelSelectScreen.updateLevel(this.level);
+                    // Decode the next level while the victory screen is showing
+                    LevelPack.preload(level + 1);
                 }
             }
         }
     }
 
+    // Movement vectors, shared so the movement tick doesn't allocate (callers only read them)
+    private static final int[] UP = {0, -1}, RIGHT = {1, 0}, DOWN = {0, 1}, LEFT = {-1, 0};
+
     // Converts direction and facing side into x, y movement vector
-    protected int[] directionVector(String direction, Boolean facingRight) {
+    protected int[] directionVector(String direction, boolean facingRight) {
         return switch (direction) {
-            case "up" -> new int[]{0, -1};
-            case "side" -> facingRight ? new int[]{1, 0} : new int[]{-1, 0};
+            case "up" -> UP;
+            case "side" -> facingRight ? RIGHT : LEFT;
             // Down
-            default -> new int[]{0, 1};
+            default -> DOWN;
         };
     }
 
@@ -724,27 +370,32 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     private void updatePlayerMovement() {
         long currentTime = System.currentTimeMillis();
 
-        // Player 1 input
+        // Save the result once both players have been caught
+        if (GameState.gameOver && !resultRecorded) recordResult(false);
+
+        // Player 1 input (events are only consumed once the player can act, so taps during the delay aren't lost)
         if (!GameState.player1GameOver  && currentTime - lastMoveTimeP1 >= MOVE_DELAY_MS && !isPaused) {
-            if (pressedKeys.contains(KeyEvent.VK_LEFT)) {
+            int actions = player1Input.consume();
+            long moveTime1 = moveTime(player1Input, lastMoveTimeP1, currentTime);
+            if ((actions & PlayerInput.LEFT) != 0) {
                 player1Dir = "side";
                 player1Right = false;
                 movePlayer(1, player1Dir, false);
-                lastMoveTimeP1 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_RIGHT)) {
+                lastMoveTimeP1 = moveTime1;
+            } else if ((actions & PlayerInput.RIGHT) != 0) {
                 player1Dir = "side";
                 player1Right = true;
                 movePlayer(1, player1Dir, true);
-                lastMoveTimeP1 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_UP)) {
+                lastMoveTimeP1 = moveTime1;
+            } else if ((actions & PlayerInput.UP) != 0) {
                 player1Dir = "up";
                 movePlayer(1, player1Dir, false);
-                lastMoveTimeP1 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_DOWN)) {
+                lastMoveTimeP1 = moveTime1;
+            } else if ((actions & PlayerInput.DOWN) != 0) {
                 player1Dir = "down";
                 movePlayer(1, player1Dir, false);
-                lastMoveTimeP1 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_SPACE)) {
+                lastMoveTimeP1 = moveTime1;
+            } else if ((actions & PlayerInput.ACTION) != 0) {
                 int[] d1 = directionVector(player1Dir, player1Right);
                 int targetTile1 = map[(player1Y + d1[1] * TILE_SIZE) / TILE_SIZE][(player1X + d1[0] * TILE_SIZE) / TILE_SIZE];
                 // If next tile is ice, break the ice
@@ -754,31 +405,33 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                 } else {
                     Ice.formIce(player1X, player1Y, d1[0], d1[1], map, TILE_SIZE);
                 }
-                lastMoveTimeP1 = currentTime;
+                lastMoveTimeP1 = moveTime1;
             }
         }
 
         // Player 2 input
         if (!GameState.player2GameOver && currentTime - lastMoveTimeP2 >= MOVE_DELAY_MS && !isPaused) {
-            if (pressedKeys.contains(KeyEvent.VK_A)) {
+            int actions = player2Input.consume();
+            long moveTime2 = moveTime(player2Input, lastMoveTimeP2, currentTime);
+            if ((actions & PlayerInput.LEFT) != 0) {
                 player2Dir = "side";
                 player2Right = false;
                 movePlayer(2, player2Dir, false);
-                lastMoveTimeP2 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_D)) {
+                lastMoveTimeP2 = moveTime2;
+            } else if ((actions & PlayerInput.RIGHT) != 0) {
                 player2Dir = "side";
                 player2Right = true;
                 movePlayer(2, player2Dir, true);
-                lastMoveTimeP2 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_W)) {
+                lastMoveTimeP2 = moveTime2;
+            } else if ((actions & PlayerInput.UP) != 0) {
                 player2Dir = "up";
                 movePlayer(2, player2Dir, false);
-                lastMoveTimeP2 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_S)) {
+                lastMoveTimeP2 = moveTime2;
+            } else if ((actions & PlayerInput.DOWN) != 0) {
                 player2Dir = "down";
                 movePlayer(2, player2Dir, false);
-                lastMoveTimeP2 = currentTime;
-            } else if (pressedKeys.contains(KeyEvent.VK_F)) {
+                lastMoveTimeP2 = moveTime2;
+            } else if ((actions & PlayerInput.ACTION) != 0) {
                 int[] d2 = directionVector(player2Dir, player2Right);
                 int targetTile2 = map[(player2Y + d2[1] * TILE_SIZE) / TILE_SIZE][(player2X + d2[0] * TILE_SIZE) / TILE_SIZE];
                 // If next tile is ice, break the ice
@@ -788,44 +441,193 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
                 } else {
                     Ice.formIce(player2X, player2Y, d2[0], d2[1], map, TILE_SIZE);
                 }
-                lastMoveTimeP2 = currentTime;
+                lastMoveTimeP2 = moveTime2;
             }
         }
+    }
 
-        repaint();
+    // Time a move made now counts from for the move delay: when its key was pressed, so the next move isn't held
+    // back by however long the press waited for a tick, but never before the previous move's delay ran out (for
+    // taps buffered during the delay) and the current time for held keys
+    private static long moveTime(PlayerInput input, long lastMove, long now) {
+        long pressed = input.lastPressTime();
+        if (pressed == 0) return now;
+        return Math.min(now, Math.max(pressed, lastMove + MOVE_DELAY_MS));
     }
 
-    // Draws the pause menu overlay with buttons
-    private void pause(Graphics g) {
-        int frameW = 400;
-        int frameH = 200;
-        int frameX = (getWidth() - frameW) / 2;
-        int frameY = (getHeight() - frameH) / 2;
-        Graphics2D g2d = (Graphics2D) g;
+    // Runs one movement tick: players, then ice trails and enemies, then publishes a frame
+    private void movementTick() {
+        long start = System.nanoTime();
+        GameEvents.SimulationTick event = GameEvents.TICK.isEnabled() ? new GameEvents.SimulationTick() : null;
+        if (event != null) event.begin();
+        AllocationProbe.begin();
+        // Once a result has been saved the match can't be rewound, so it can't be finished and saved a second time
+        if (rewindHeld && !isPaused && !resultRecorded) {
+            // Play backwards one tick at a time while BACKSPACE is held
+            stepRewind(true);
+        } else {
+            updatePlayerMovement();
+            updateEnemies();
+            if (!isPaused && !resultRecorded) recordRewind();
+            driveBot();
+        }
+        AllocationProbe.check("Movement tick");
+        GameMetrics.tick(start, System.nanoTime() - start, enemies.size(), Ice.activeTrails());
+        if (event != null) {
+            event.entities = 2 + enemies.size();
+            event.iceTrails = Ice.activeTrails();
+            event.commit();
+        }
+        publishFrame();
+    }
 
-        g2d.drawImage(frameImage, frameX, frameY, frameW, frameH, null);
+    // Copies everything the renderer draws into the free snapshot and hands it to the render thread. Runs on the
+    // event thread wherever the panel used to repaint, so the renderer never reads live game state.
+    private void publishFrame() {
+        // The game-over melt advances once per frame, up to its last image
+        if (GameState.player1GameOver && GameState.player1GameOverFrame / 5 < 14) GameState.player1GameOverFrame++;
+        if (GameState.player2GameOver && GameState.player2GameOverFrame / 5 < 14) GameState.player2GameOverFrame++;
+
+        FrameSnapshot f = frames.back();
+        fillSnapshot(f);
+        if (recorder != null) recorder.write(f);
+        frames.publish();
+        if (renderThread != null) renderThread.wake();
+    }
 
-        Font timerFont = new Font("Arial", Font.BOLD, 24);
-        g2d.setFont(timerFont);
-        FontMetrics fm = g2d.getFontMetrics();
+    // Copies the current game state and window size into a snapshot the event thread owns
+    private void fillSnapshot(FrameSnapshot f) {
+        f.captureMap(map);
+        f.captureEnemies(enemies);
+        f.captureView(getWidth(), getHeight());
+        f.player1 = player1;
+        f.player2 = player2;
+        f.fruitA = fruitA;
+        f.fruitB = fruitB;
+        f.player1Dir = directionCode(player1Dir, player1Right);
+        f.player2Dir = directionCode(player2Dir, player2Right);
+        f.player1Score = player1Score;
+        f.player2Score = player2Score;
+        f.fruitACount = fruitACount;
+        f.fruitBCount = fruitBCount;
 
-        String resume = "Resume";
-        String menu = "Return to Menu";
+        // Calculate remaining time
+        long timeLeft;
+        if (isPaused) {
+            timeLeft = Math.max(0, levelDuration - (pauseStartTime - levelStartTime - totalPausedTime));
+        } else {
+            timeLeft = Math.max(0, levelDuration - (System.currentTimeMillis() - levelStartTime - totalPausedTime));
+        }
+        f.secondsLeft = (int) (timeLeft / 1000);
+        f.animFrame = animFrame;
+        f.paused = isPaused;
+        f.victory = GameState.victory;
+        f.gameOver = GameState.gameOver;
+        f.player1GameOver = GameState.player1GameOver;
+        f.player2GameOver = GameState.player2GameOver;
+        f.player1GameOverFrame = GameState.player1GameOverFrame;
+        f.player2GameOverFrame = GameState.player2GameOverFrame;
+        f.leaderboardRank = leaderboardRank;
+        f.leaderboardSize = leaderboardSize;
+        System.arraycopy(topScores, 0, f.topScores, 0, topScoreCount);
+        f.topScoreCount = topScoreCount;
+    }
 
-        int resumeWidth = fm.stringWidth(resume);
-        int menuWidth = fm.stringWidth(menu);
+    // Copies the newest frame drawn by the render thread to the screen
+    @Override
+    protected void paintComponent(Graphics g) {
+        // Before the panel is shown (e.g. when a transition captures it) there is no render thread yet, so draw the
+        // current state here from the snapshot the event thread owns, without publishing it
+        if (renderThread == null) {
+            super.paintComponent(g);
+            FrameSnapshot f = frames.back();
+            fillSnapshot(f);
+            Graphics2D g2d = (Graphics2D) g.create();
+            try {
+                renderer.draw(g2d, f);
+            } finally {
+                g2d.dispose();
+            }
+            return;
+        }
+        BufferedImage frame = renderThread.latest();
+        if (frame == null) {
+            super.paintComponent(g);
+            return;
+        }
+        g.drawImage(frame, 0, 0, null);
+    }
 
-        int playX = getWidth() / 2 - resumeWidth / 2;
-        int playY = frameY + 80;
-        int menuX = getWidth() / 2 - menuWidth / 2;
-        int menuY = frameY + 140;
+    // Saves the state after this tick into the rewind buffer (the buffer logs the tile grids itself)
+    private void recordRewind() {
+        int[] s = rewind.record(REWIND_HEADER + enemies.saveSize() + Ice.saveSize());
+        s[0] = player1X;
+        s[1] = player1Y;
+        s[2] = player2X;
+        s[3] = player2Y;
+        s[4] = directionCode(player1Dir, player1Right);
+        s[5] = directionCode(player2Dir, player2Right);
+        s[6] = player1Score;
+        s[7] = player2Score;
+        s[8] = fruitACount;
+        s[9] = fruitBCount;
+        s[10] = (int) ((isPaused ? pauseStartTime : System.currentTimeMillis()) - levelStartTime - totalPausedTime);
+        s[11] = (GameState.gameOver ? 1 : 0) | (GameState.player1GameOver ? 2 : 0) | (GameState.player2GameOver ? 4 : 0)
+                | (Helper.player1Collided ? 8 : 0) | (Helper.player2Collided ? 16 : 0);
+        s[12] = GameState.player1GameOverFrame;
+        s[13] = GameState.player2GameOverFrame;
+        Ice.save(s, enemies.save(s, REWIND_HEADER));
+    }
+
+    // Steps the world one tick back (or forward again after stepping back), restoring the saved state
+    private void stepRewind(boolean back) {
+        if (!(back ? rewind.back() : rewind.forward())) return;
+        int[] s = rewind.current();
+        player1X = s[0];
+        player1Y = s[1];
+        player2X = s[2];
+        player2Y = s[3];
+        player1Dir = DIRECTIONS[s[4]];
+        player2Dir = DIRECTIONS[s[5]];
+        player1Right = s[4] == EnemySystem.RIGHT;
+        player2Right = s[5] == EnemySystem.RIGHT;
+        player1Score = s[6];
+        player2Score = s[7];
+        fruitACount = s[8];
+        fruitBCount = s[9];
+        // Wind the level clock back too
+        levelStartTime = (isPaused ? pauseStartTime : System.currentTimeMillis()) - totalPausedTime - s[10];
+        GameState.gameOver = (s[11] & 1) != 0;
+        GameState.player1GameOver = (s[11] & 2) != 0;
+        GameState.player2GameOver = (s[11] & 4) != 0;
+        Helper.player1Collided = (s[11] & 8) != 0;
+        Helper.player2Collided = (s[11] & 16) != 0;
+        GameState.player1GameOverFrame = s[12];
+        GameState.player2GameOverFrame = s[13];
+        Ice.load(s, enemies.load(s, REWIND_HEADER));
+        lastMoveTimeP1 = 0;
+        lastMoveTimeP2 = 0;
+    }
 
-        drawOutlinedText(g2d, resume, playX, playY, Color.WHITE, timerFont);
-        drawOutlinedText(g2d, menu, menuX, menuY, Color.WHITE, timerFont);
+    // Passes the bot's finished move to its player's input, then starts planning the next one from this tick's
+    // state once that move has been taken. The search runs in the background, so this never waits for it.
+    private void driveBot() {
+        if (bot == null || isPaused || GameState.victory || GameState.gameOver) return;
+        bot.poll(System.currentTimeMillis());
+        boolean caught = MctsBot.PLAYER == 1 ? GameState.player1GameOver : GameState.player2GameOver;
+        if (caught || !bot.idle()) return;
+        BotWorld world = bot.root();
+        world.capture(map, tileUnderPlayer, enemies, fruitACount, fruitBCount);
+        world.setPlayer(0, player1X / TILE_SIZE, player1Y / TILE_SIZE, directionCode(player1Dir, player1Right), !GameState.player1GameOver);
+        world.setPlayer(1, player2X / TILE_SIZE, player2Y / TILE_SIZE, directionCode(player2Dir, player2Right), !GameState.player2GameOver);
+        bot.start(MctsBot.BUDGET_MILLIS);
+    }
 
-        // Define clickable areas
-        resumeRect = new Rectangle(playX, playY - 24, resumeWidth, 30);
-        menuRect = new Rectangle(menuX, menuY - 24, menuWidth, 30);
+    // Moves the ice trails and enemies on the movement tick, independently of how often the screen is painted
+    private void updateEnemies() {
+        if (isPaused) return;
+        Ice.tick(map);
+        enemies.tick(map, player1X, player1Y, player2X, player2Y);
     }
 
     // Resets the level and game state, replacing the current panel
@@ -837,148 +639,52 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
             totalPausedTime = 0;
             pauseStartTime = 0;
 
-            // Removes all contents of the game
-            topFrame.getContentPane().removeAll();
-
             // Stops any sound and resets static variables
             Main.stopSound();
             GameState.reset();
 
             // Creates and displays a new GamePanel
-            GamePanel newGame = new GamePanel(restartLevel, player1, player2);
-            topFrame.getContentPane().add(newGame);
-            topFrame.revalidate();
-            topFrame.repaint();
-            newGame.requestFocusInWindow();
+            LoadingScreen.show(topFrame.getContentPane(), ASSETS, () -> new GamePanel(restartLevel, player1, player2));
         }
     }
 
-    // Draws the game over screen and buttons
-    private void gameOver(Graphics g) {
-        // Define dimensions and position for the frame in the center of the screen
-        int frameW = 400;
-        int frameH = 250;
-        int frameX = (getWidth() - frameW) / 2;
-        int frameY = (getHeight() - frameH) / 2;
-        Graphics2D g2d = (Graphics2D) g;
-
-        // Draw the background image for the game over frame
-        g2d.drawImage(frameImage, frameX, frameY, frameW, frameH, null);
-
-        // Define fonts for the header and subtext
-        Font titleFont = new Font("Arial", Font.BOLD, 28);
-        Font subFont = new Font("Arial", Font.BOLD, 24);
-
-        // Define the main header and the score to display
-        String headerText = "Total Meltdown!";
-        String combinedScore = "Combined Score: " + (player1Score + player2Score);
-
-        // Calculate position to center the header text within the frame
-        FontMetrics fmTitle = g2d.getFontMetrics(titleFont);
-        int winnerX = getWidth() / 2 - fmTitle.stringWidth(headerText) / 2;
-        int winnerY = frameY + 40;
-
-        // Draw the game over header with an outline for better visibility
-        drawOutlinedText(g2d, headerText, winnerX, winnerY, Color.YELLOW, titleFont);
-
-        // Calculate position to center the score text below the header
-        FontMetrics fmSub = g2d.getFontMetrics(subFont);
-        int scoreX = getWidth() / 2 - fmSub.stringWidth(combinedScore) / 2;
-        int scoreY = winnerY + 35;
-
-        // Draw the combined score below the header
-        drawOutlinedText(g2d, combinedScore, scoreX, scoreY, Color.WHITE, subFont);
-
-        // Define button labels
-        String resume = "Restart";
-        String menu = "Back to Menu";
-
-        // Measure button widths for centering
-        int resumeWidth = fmSub.stringWidth(resume);
-        int menuWidth = fmSub.stringWidth(menu);
-
-        // Calculate X/Y positions for "Restart" and "Back to Menu" buttons
-        int playX = getWidth() / 2 - resumeWidth / 2;
-        int playY = scoreY + 60;
-        int menuX = getWidth() / 2 - menuWidth / 2;
-        int menuY = playY + 80;
-
-        // Draw buttons with outlined text
-        drawOutlinedText(g2d, resume, playX, playY, Color.WHITE, subFont);
-        drawOutlinedText(g2d, menu, menuX, menuY, Color.WHITE, subFont);
-
-        // Define clickable rectangular areas for each button
-        resumeRect = new Rectangle(playX, playY - 24, resumeWidth, 30);
-        menuRect = new Rectangle(menuX, menuY - 24, menuWidth, 30);
+    // Saves the result of this match to the progress journal and the level's leaderboard. Both write to disk, so
+    // this runs on ProgressStore's writer thread; the rank and best scores reach the end screen when it is done.
+    private void recordResult(boolean cleared) {
+        resultRecorded = true;
+        long clearTime = System.currentTimeMillis() - levelStartTime - totalPausedTime;
+        ProgressStore.recordResult(level, player1, player2, player1Score, player2Score, clearTime, cleared);
+
+        int level = this.level;
+        int combined = player1Score + player2Score;
+        ProgressStore.submit(() -> {
+            Leaderboard board = Leaderboard.forLevel(level);
+            if (board == null) return;
+            board.insert(combined);
+            long rank = board.rankOf(combined);
+            long size = board.size();
+            int[] top = new int[FrameSnapshot.TOP_SCORES];
+            int count = board.top(top);
+            SwingUtilities.invokeLater(() -> {
+                leaderboardRank = rank;
+                leaderboardSize = size;
+                System.arraycopy(top, 0, topScores, 0, count);
+                topScoreCount = count;
+                // Only redraw if the end screen is still showing
+                if (isDisplayable()) publishFrame();
+            });
+        });
     }
 
-    // Displays the victory frame
-    private void victory(Graphics g) {
-        // Dimensions for the victory frame
-        int frameW = 400;
-        int frameH = 250;
-        int frameX = (getWidth() - frameW) / 2;
-        int frameY = (getHeight() - frameH) / 2;
-        Graphics2D g2d = (Graphics2D) g;
-
-        // Draw background frame image
-        g2d.drawImage(frameImage, frameX, frameY, frameW, frameH, null);
-
-        // Fonts for text display
-        Font titleFont = new Font("Arial", Font.BOLD, 28);
-        Font subFont = new Font("Arial", Font.BOLD, 24);
-
-        // Determine winner based on score
-        String winnerText;
-        if (player1Score > player2Score) {
-            winnerText = "Player 1 wins!";
-        } else if (player2Score > player1Score) {
-            winnerText = "Player 2 wins!";
-        } else {
-            winnerText = "It's a tie!";
-        }
-
-        // Display total combined score
-        String combinedScore = "Combined Score: " + (player1Score + player2Score);
-
-        // Centered positioning for text
-        FontMetrics fmTitle = g2d.getFontMetrics(titleFont);
-        int winnerX = getWidth() / 2 - fmTitle.stringWidth(winnerText) / 2;
-        int winnerY = frameY + 40;
-
-        drawOutlinedText(g2d, winnerText, winnerX, winnerY, Color.YELLOW, titleFont);
-
-        FontMetrics fmSub = g2d.getFontMetrics(subFont);
-        int scoreX = getWidth() / 2 - fmSub.stringWidth(combinedScore) / 2;
-        int scoreY = winnerY + 35;
-
-        drawOutlinedText(g2d, combinedScore, scoreX, scoreY, Color.WHITE, subFont);
-
-        // Draw "Continue" and "Back to Menu" buttons
-        String resume = "Continue";
-        String menu = "Back to Menu";
-
-        int resumeWidth = fmSub.stringWidth(resume);
-        int menuWidth = fmSub.stringWidth(menu);
-
-        int playX = getWidth() / 2 - resumeWidth / 2;
-        int playY = scoreY + 60;
-        int menuX = getWidth() / 2 - menuWidth / 2;
-        int menuY = playY + 80;
-
-        drawOutlinedText(g2d, resume, playX, playY, Color.WHITE, subFont);
-        drawOutlinedText(g2d, menu, menuX, menuY, Color.WHITE, subFont);
-
-        // Store clickable bounds for interaction
-        resumeRect = new Rectangle(playX, playY - 24, resumeWidth, 30);
-        menuRect = new Rectangle(menuX, menuY - 24, menuWidth, 30);
-
-        // Play victory sound and unlock next level
-        Main.playSound("../graphics/sounds/WinMusic.wav", false);
-        LevelSelectScreen.updateLevel(this.level);
+    // Converts direction and facing side into a compact code (0 = up, 1 = right, 2 = down, 3 = left, as in EnemySystem)
+    static int directionCode(String direction, boolean facingRight) {
+        return switch (direction) {
+            case "up" -> 0;
+            case "side" -> facingRight ? 1 : 3;
+            default -> 2;
+        };
     }
 
-
     // Helper to validate row and column bounds
     private boolean isValidPosition(int row, int col) {
         return row >= 0 && row < ROWS && col >= 0 && col < COLS;
@@ -987,13 +693,30 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     // Handle keyboard input when key is pressed
     @Override
     public void keyPressed(KeyEvent e) {
-        pressedKeys.add(e.getKeyCode());
+        // Rewind controls
+        if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) rewindHeld = true;
+        if (isPaused && !resultRecorded && (e.getKeyCode() == KeyEvent.VK_OPEN_BRACKET || e.getKeyCode() == KeyEvent.VK_CLOSE_BRACKET)) {
+            stepRewind(e.getKeyCode() == KeyEvent.VK_OPEN_BRACKET);
+            publishFrame();
+            return;
+        }
+
+        boolean newPress = player1Input.keyPressed(e.getKeyCode(), e.getWhen());
+        newPress |= player2Input.keyPressed(e.getKeyCode(), e.getWhen());
+        // Act on a fresh press right away instead of waiting for the next movement tick, unless the world is being
+        // rewound (the press then waits for the first tick after BACKSPACE is released)
+        if (newPress && !rewindHeld) {
+            updatePlayerMovement();
+            publishFrame();
+        }
     }
 
     // Handle keyboard input when key is released
     @Override
     public void keyReleased(KeyEvent e) {
-        pressedKeys.remove(e.getKeyCode());
+        if (e.getKeyCode() == KeyEvent.VK_BACK_SPACE) rewindHeld = false;
+        player1Input.keyReleased(e.getKeyCode(), e.getWhen());
+        player2Input.keyReleased(e.getKeyCode(), e.getWhen());
     }
 
     // Handle keyboard input when key is typed
@@ -1003,37 +726,35 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     // Handle mouse input when mouse is clicked
     @Override
     public void mouseClicked(MouseEvent e) {
+        Point p = RenderScale.toLogical(e.getPoint());
+        // Button bounds from the last frame the renderer drew
+        Rectangle pauseBounds = renderer.pauseBounds, restartBounds = renderer.restartBounds;
+        Rectangle resumeRect = renderer.resumeRect, menuRect = renderer.menuRect;
         // Pause game if pause button clicked
-        if (pauseBounds != null && pauseBounds.contains(e.getPoint()) && !isPaused) {
+        if (pauseBounds != null && pauseBounds.contains(p) && !isPaused) {
             isPaused = true;
             pauseStartTime = System.currentTimeMillis();
 
             // Resume game from pause
-        } else if (resumeRect != null && resumeRect.contains(e.getPoint()) && isPaused) {
+        } else if (resumeRect != null && resumeRect.contains(p) && isPaused) {
                 isPaused = false;
                 totalPausedTime += System.currentTimeMillis() - pauseStartTime;
 
             // Return to main menu from pause, victory, or game over, depending on the game state
-        } else if (menuRect != null && menuRect.contains(e.getPoint()) && (isPaused || GameState.victory || GameState.gameOver)) {
+        } else if (menuRect != null && menuRect.contains(p) && (isPaused || GameState.victory || GameState.gameOver)) {
             JFrame topFrame = (JFrame) SwingUtilities.getWindowAncestor(GamePanel.this);
-            topFrame.getContentPane().removeAll();
-            topFrame.getContentPane().add(new MenuScreen());
-            topFrame.revalidate();
-            topFrame.repaint();
+            LoadingScreen.show(topFrame.getContentPane(), MenuScreen.ASSETS, MenuScreen::new);
 
             // Restart level if restart button or game over resume is clicked
-        } else if ((restartBounds != null && restartBounds.contains(e.getPoint())) || (resumeRect != null && resumeRect.contains(e.getPoint()) && GameState.gameOver)) {
+        } else if ((restartBounds != null && restartBounds.contains(p)) || (resumeRect != null && resumeRect.contains(p) && GameState.gameOver)) {
             restartLevel(this.level);
 
             // Advance to next level or return to level select if last level
-        } else if (resumeRect != null && resumeRect.contains(e.getPoint()) && GameState.victory) {
-            if (this.level < 2) restartLevel(this.level + 1);
+        } else if (resumeRect != null && resumeRect.contains(p) && GameState.victory) {
+            if (this.level + 1 < LevelPack.levelCount()) restartLevel(this.level + 1);
             else {
                 JFrame topFrame = (JFrame) SwingUtilities.getWindowAncestor(GamePanel.this);
-                topFrame.getContentPane().removeAll();
-                topFrame.getContentPane().add(new LevelSelectScreen(this.player1, this.player2));
-                topFrame.revalidate();
-                topFrame.repaint();
+                LoadingScreen.show(topFrame.getContentPane(), LevelSelectScreen.ASSETS, () -> new LevelSelectScreen(this.player1, this.player2));
             }
         }
     }
@@ -1044,12 +765,22 @@ public class GamePanel extends JPanel implements ActionListener, KeyListener, Mo
     @Override public void mouseEntered(MouseEvent e) {}
     @Override public void mouseExited(MouseEvent e) {}
 
+    // Pauses the game while the window is minimised
+    @Override
+    public void suspend(boolean suspended) {
+        if (suspended && !isPaused && !GameState.victory && !GameState.gameOver) {
+            isPaused = true;
+            pauseStartTime = System.currentTimeMillis();
+            publishFrame();
+        }
+    }
+
     // Handles timer-based animation updates
     @Override
     public void actionPerformed(ActionEvent e) {
         // Advance animation frame
         animFrame++;
         // Refresh screen
-        repaint();
+        publishFrame();
     }
 }
\ No newline at end of file
@@ -0,0 +1,585 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.List;
+
+// Draws game frames from FrameSnapshots. It only reads the snapshot it is given and its own images, so it can
+// run off the event thread while the game keeps playing.
+public class GameRenderer {
+    private static final int TILE_SIZE = 35;
+
+    // Player direction folders and facing by direction code (0 = up, 1 = right, 2 = down, 3 = left)
+    private static final String[] DIRECTIONS = {"up", "side", "down", "side"};
+
+    // Maps for animations and images
+    private final Map<String, List<BufferedImage>> fruitAnimations = new HashMap<>();
+    private final Map<String, List<BufferedImage>> playerAnimations = new HashMap<>();
+    private final Map<String, BufferedImage> staticImages = new HashMap<>();
+    private final List<int[]> snowBumpPositions = new ArrayList<>();
+
+    // UI elements
+    BufferedImage pauseIcon, restartIcon, footerFrame, frameImage;
+    Map<String, BufferedImage> timerIcon = new HashMap<>();
+    Map<String, BufferedImage> fruitDisplayImages = new HashMap<>();
+
+    // Clickable UI bounds for pause/restart/menu from the last frame drawn (read by the event thread)
+    volatile Rectangle pauseBounds, restartBounds, resumeRect, menuRect;
+
+    public GameRenderer(int rows, int cols) {
+        loadImages();
+        generateSnowBumpPositions(rows, cols);
+    }
+
+    // Load all required images and animations from the shared asset cache
+    private void loadImages() {
+        staticImages.put("corner", trimmed("../graphics/images/map/buildings/blue_square.png"));
+        staticImages.put("wall_0", trimmed("../graphics/images/map/buildings/blue_box.png"));
+        staticImages.put("wall_1", trimmed("../graphics/images/map/buildings/green_box.png"));
+        staticImages.put("wall_2", trimmed("../graphics/images/map/buildings/brown_box.png"));
+        staticImages.put("wall_3", trimmed("../graphics/images/map/buildings/blue_dotted_box.png"));
+        staticImages.put("snow_bump", trimmed("../graphics/images/map/buildings/snow_bumps.png"));
+        staticImages.put("ice", trimmed("../graphics/images/map/ice/ice10.png"));
+        staticImages.put("building_0", trimmed("../graphics/images/map/buildings/igloo.png"));
+        staticImages.put("building_1", trimmed("../graphics/images/map/buildings/snowman.png"));
+        staticImages.put("footerFrame", trimmed("../graphics/images/map/frames/small_wide_frame.png"));
+        staticImages.put("pauseIcon", trimmed("../graphics/images/map/display/pause.png"));
+        staticImages.put("restartIcon", trimmed("../graphics/images/map/display/restart.png"));
+        footerFrame = staticImages.get("footerFrame");
+        pauseIcon = staticImages.get("pauseIcon");
+        restartIcon = staticImages.get("restartIcon");
+        frameImage = Assets.image("../graphics/images/map/frames/blank_rectangle_frame.png");
+
+        // Load animated fruits and their static display versions
+        String[] fruitTypes = {"banana", "grapes", "pineapple", "watermelon"};
+        for (String fruit : fruitTypes) {
+            List<BufferedImage> frames = Assets.frames("../graphics/images/fruit/" + fruit);
+
+            List<BufferedImage> trimmedFrames = new ArrayList<>();
+            for (BufferedImage frame : frames) {
+                trimmedFrames.add(trimWhitespace(frame));
+            }
+            fruitAnimations.put(fruit, trimmedFrames);
+            fruitDisplayImages.put(fruit, Assets.image("../graphics/images/fruit/" + fruit + "_consumed_display.png"));
+        }
+
+        // Load animated timer frames
+        List<BufferedImage> timerFrames = Assets.frames("../graphics/images/map/timer");
+        for (int i = 0; i < timerFrames.size(); i++) {
+            timerIcon.put("frame" + i, timerFrames.get(i));
+        }
+
+        // Load animated player states for each type and direction
+        String[] playerTypes = {"vanilla", "chocolate", "strawberry"};
+        String[] playerStates = {"up", "down", "side", "game_over", "victory"};
+        for (String player : playerTypes) {
+            for (String state : playerStates) {
+                playerAnimations.put(player + "/" + state, Assets.frames("../graphics/images/players/" + player + "/" + state));
+            }
+
+            // Flip the side frames once here for players facing left, as EnemyTypes does for enemies
+            List<BufferedImage> left = new ArrayList<>();
+            for (BufferedImage frame : playerAnimations.get(player + "/side")) left.add(flipImage(frame));
+            playerAnimations.put(player + "/side_left", left);
+        }
+    }
+
+    // Returns a cached image with its transparent border removed (null if it couldn't be loaded)
+    private BufferedImage trimmed(String path) {
+        BufferedImage image = Assets.image(path);
+        return image != null ? trimWhitespace(image) : null;
+    }
+
+    // Randomly generates positions on the screen for decorative snow bump images.
+    private void generateSnowBumpPositions(int rows, int cols) {
+        BufferedImage bump = staticImages.get("snow_bump");
+        if (bump != null) {
+            int bumpWidth = bump.getWidth();
+            int bumpHeight = bump.getHeight();
+
+            // Total number of snow bumps to place
+            int numBumps = 20;
+            for (int i = 0; i < numBumps; i++) {
+                // Adds the position of the snow bump to snowBumpPositions
+                int randX = (int)(Math.random() * (cols * TILE_SIZE - bumpWidth));
+                int randY = (int)(Math.random() * (rows * TILE_SIZE - bumpHeight));
+                snowBumpPositions.add(new int[]{randX, randY});
+            }
+        }
+    }
+
+    // Draws a whole frame in device pixels, scaled to the window size stored in the snapshot
+    public void draw(Graphics2D g, FrameSnapshot f) {
+        // Set background color
+        g.setColor(new Color(246, 254, 254, 255));
+        g.fillRect(0, 0, f.width, f.height);
+
+        // Draw everything else in logical coordinates scaled to the window
+        g.translate(f.offsetX, f.offsetY);
+        g.scale(f.scale, f.scale);
+
+        // Draw all randomly placed snow bump decorations
+        BufferedImage bump = staticImages.get("snow_bump");
+        if (bump != null) {
+            for (int[] pos : snowBumpPositions) {
+                SpriteCache.draw(g, bump, pos[0], pos[1], bump.getWidth(), bump.getHeight());
+            }
+        }
+
+        // Draw the tile map
+        for (int row = 0; row < f.rows; row++) {
+            for (int col = 0; col < f.cols; col++) {
+                int x = col * TILE_SIZE;
+                int y = row * TILE_SIZE;
+                int tile = f.tiles[row * f.cols + col];
+
+                int type, subtype;
+                if (tile < 10) {
+                    type = tile;
+                    subtype = 0;
+                    // Fruit tile
+                } else if (tile >= 100) {
+                    type = tile / 100;
+                    subtype = tile % 100;
+                    // Player tile, enemy tile, wall tile
+                } else {
+                    type = tile / 10;
+                    subtype = tile % 10;
+                }
+
+                // Draw tile content based on type
+                switch (type) {
+                    case 0 -> {
+                        if (row % 2 == 0 && col % 2 == 0) {
+                            drawImage(g, "corner", x, y, TILE_SIZE * 2, TILE_SIZE * 2);
+                        }
+                    }
+                    case 1 -> drawImage(g, "wall_" + subtype, x, y, TILE_SIZE, TILE_SIZE);
+                    case 2 -> drawImage(g, "ice", x, y, TILE_SIZE, TILE_SIZE);
+                    case 3 -> {
+                        int i = f.enemyAt[row * f.cols + col] - 1;
+                        if (i >= 0) EnemyTypes.draw(g, f, i);
+                    }
+                    case 4 -> drawPlayer(g, f, subtype, x, y);
+                    case 5 -> drawFruit(g, f, subtype, x, y);
+                    case 7 -> {
+                        if (row % 4 == 0 && col % 4 == 0) {
+                            drawImage(g, "building_" + subtype, x - TILE_SIZE, (int)(y - TILE_SIZE * 1.5), TILE_SIZE * 4, TILE_SIZE * 4);
+                        }
+                    }
+                }
+            }
+        }
+
+        // UI overlay
+        drawFooter(g, f);
+        drawHeader(g, f);
+
+        // Game state overlays
+        if (f.paused) pause(g);
+        if (f.victory) victory(g, f);
+        else if (f.gameOver) gameOver(g, f);
+    }
+
+    // Displays player score and timer at the top of the screen
+    private void drawHeader(Graphics2D g2d, FrameSnapshot f) {
+        int baseY = 10;
+        int padding = TILE_SIZE + 5;
+
+        Font scoreFont = new Font("Arial", Font.BOLD, 20);
+        Font timerFont = new Font("Arial", Font.BOLD, 18);
+
+        // Draw player 1 avatar
+        List<BufferedImage> p1Frames = playerAnimations.get(f.player1 + "/down");
+        BufferedImage p1Frame = p1Frames.get(f.animFrame % p1Frames.size());
+        SpriteCache.draw(g2d, p1Frame, padding, baseY, TILE_SIZE, TILE_SIZE);
+
+        // Draw player 1 score (6 digits)
+        String score1 = String.format("%06d", f.player1Score);
+        int score1X = padding + TILE_SIZE + 5;
+        int score1Y = baseY + TILE_SIZE / 2 + baseY;
+        drawOutlinedText(g2d, score1, score1X, score1Y, Color.YELLOW, scoreFont);
+
+        // Draw player 2 avatar
+        List<BufferedImage> p2Frames = playerAnimations.get(f.player2 + "/down");
+        BufferedImage p2Frame = p2Frames.get(f.animFrame % p2Frames.size());
+        SpriteCache.draw(g2d, p2Frame, padding + TILE_SIZE * 4, baseY, TILE_SIZE, TILE_SIZE);
+
+        // Draw player 1 score (6 digits)
+        String score2 = String.format("%06d", f.player2Score);
+        int score2X = padding + TILE_SIZE * 4 + padding + 5;
+        int score2Y = baseY + TILE_SIZE / 2 + baseY;
+        drawOutlinedText(g2d, score2, score2X, score2Y, Color.PINK, scoreFont);
+
+        // Remaining time
+        int seconds = f.secondsLeft;
+        String timeStr = String.format("%02d:%02d", seconds / 60, seconds % 60);
+
+        // Draw animated timer icon
+        BufferedImage timerFrame = timerIcon.get("frame" + (f.animFrame % timerIcon.size()));
+        int timerX = RenderScale.width() / 2 - TILE_SIZE / 2;
+        SpriteCache.draw(g2d, timerFrame, timerX - padding / 9 + 15, baseY, TILE_SIZE, TILE_SIZE);
+
+        // Draw remaining time text beside timer
+        int timerTextX = timerX - padding / 9 + TILE_SIZE + 25;
+        int timerTextY = baseY + TILE_SIZE / 2 + baseY;
+        drawOutlinedText(g2d, timeStr, timerTextX, timerTextY, Color.WHITE, timerFont);
+
+        // Define bounds and draw restart and pause icons (used for click detection)
+        int iconSize = TILE_SIZE - 15;
+        int restartX = RenderScale.width() - 2 * iconSize - 50;
+        int pauseX = RenderScale.width() - iconSize - 100;
+
+        restartBounds = new Rectangle(restartX, baseY + 8, iconSize, iconSize);
+        pauseBounds = new Rectangle(pauseX, baseY + 8, iconSize, iconSize);
+        SpriteCache.draw(g2d, restartIcon, restartX, baseY + 8, iconSize, iconSize);
+        SpriteCache.draw(g2d, pauseIcon, pauseX, baseY + 8, iconSize, iconSize);
+    }
+
+    // Displays current fruit on the map at the bottom of the screen
+    private void drawFooter(Graphics g, FrameSnapshot f) {
+        // Draw the wooden frame of the footer UI
+        int frameWidth = TILE_SIZE * 12;
+        int frameHeight = (int)(TILE_SIZE * 1.5);
+        int frameX = RenderScale.width() / 2 - TILE_SIZE * 6;
+        int frameY = RenderScale.height() - footerFrame.getHeight() - (int)(TILE_SIZE * 0.4);
+
+        SpriteCache.draw(g, footerFrame, frameX, frameY, frameWidth, frameHeight);
+
+        // Determine which fruit type should animate
+        List<BufferedImage> fruitAFrames;
+        List<BufferedImage> fruitBFrames;
+
+        // If fruitA is on the map, animate fruitA, fruitB is static
+        if (f.fruitACount > 0) {
+            fruitAFrames = fruitAnimations.get(f.fruitA);
+            fruitBFrames = List.of(fruitDisplayImages.get(f.fruitB));
+            // Otherwise, fruitA is static and fruitB is animated
+        } else {
+            fruitAFrames = List.of(fruitDisplayImages.get(f.fruitA));
+            fruitBFrames = fruitAnimations.get(f.fruitB);
+        }
+
+        // Get current animation frame for each fruit
+        BufferedImage fruitAFrame = fruitAFrames.get(f.animFrame % fruitAFrames.size());
+        BufferedImage fruitBFrame = fruitBFrames.get(f.animFrame % fruitBFrames.size());
+
+        // Calculate position and spacing to make fruits centered in the frame
+        int fruitSize = TILE_SIZE;
+        int spacing = 10;
+        int totalWidth = fruitSize * 2 + spacing;
+
+        int startX = frameX + (frameWidth - totalWidth) / 2;
+        int fruitY = frameY + (frameHeight - fruitSize) / 2;
+
+        // Draw fruits side by side
+        SpriteCache.draw(g, fruitAFrame, startX, fruitY, fruitSize, fruitSize);
+        SpriteCache.draw(g, fruitBFrame, startX + fruitSize + spacing, fruitY, fruitSize, fruitSize);
+    }
+
+    private void drawOutlinedText(Graphics2D g, String text, int x, int y, Color fillColor, Font font) {
+        // Draws text with black outline by rendering multiple offsets around the text
+        g.setFont(font);
+        g.setColor(Color.BLACK);
+
+        // Offsets for 8 directions to simulate outline
+        g.drawString(text, x - 1, y - 1);
+        g.drawString(text, x - 1, y + 1);
+        g.drawString(text, x + 1, y - 1);
+        g.drawString(text, x + 1, y + 1);
+        g.drawString(text, x - 1, y);
+        g.drawString(text, x + 1, y);
+        g.drawString(text, x, y - 1);
+        g.drawString(text, x, y + 1);
+
+        // Draw filled center text
+        g.setColor(fillColor);
+        g.drawString(text, x, y);
+    }
+
+    // Draws a specific image from the static image map
+    private void drawImage(Graphics g, String key, int x, int y, int w, int h) {
+        BufferedImage original = staticImages.get(key);
+        if (original != null) {
+            SpriteCache.draw(g, original, x, y, w, h);
+        }
+    }
+
+    // Removes surrounding transparent pixels from an image
+    private BufferedImage trimWhitespace(BufferedImage image) {
+        int width = image.getWidth(), height = image.getHeight();
+        int top = 0, left = 0, right = width - 1, bottom = height - 1;
+        boolean found = false;
+
+        // Find top boundary
+        for (int y = 0; y < height && !found; y++)
+            for (int x = 0; x < width; x++)
+                if ((image.getRGB(x, y) >> 24) != 0x00) { top = y; found = true; break; }
+
+        // Find bottom boundary
+        found = false;
+        for (int y = height - 1; y >= 0 && !found; y--)
+            for (int x = 0; x < width; x++)
+                if ((image.getRGB(x, y) >> 24) != 0x00) { bottom = y; found = true; break; }
+
+        // Find left boundary
+        found = false;
+        for (int x = 0; x < width && !found; x++)
+            for (int y = 0; y < height; y++)
+                if ((image.getRGB(x, y) >> 24) != 0x00) { left = x; found = true; break; }
+
+        // Find right boundary
+        found = false;
+        for (int x = width - 1; x >= 0 && !found; x--)
+            for (int y = 0; y < height; y++)
+                if ((image.getRGB(x, y) >> 24) != 0x00) { right = x; found = true; break; }
+
+        // Crop the image
+        return Assets.compatible(image.getSubimage(left, top, right - left + 1, bottom - top + 1));
+    }
+
+    // Draws fruit with animated frames based on the subtype
+    private void drawFruit(Graphics g, FrameSnapshot f, int subtype, int x, int y) {
+        int fruitIndex = subtype / 10;
+        int fruitSet = subtype % 10;
+
+        // Determine which fruit set to draw based on game logic
+        if ((fruitSet == 0 && f.fruitACount > 0) || (fruitSet == 1 && f.fruitACount == 0)) {
+            String[] fruits = {"banana", "grapes", "pineapple", "watermelon"};
+            if (fruitIndex >= 0 && fruitIndex < fruits.length) {
+                List<BufferedImage> frames = fruitAnimations.get(fruits[fruitIndex]);
+                if (frames != null && !frames.isEmpty()) {
+                    BufferedImage frame = frames.get(f.animFrame % frames.size());
+
+                    // Special offset for watermelon
+                    if (fruits[fruitIndex].equals("watermelon")) {
+                        int offset = (int)(TILE_SIZE * 0.18);
+                        SpriteCache.draw(g, frame, x + offset, y + offset, TILE_SIZE - 10, TILE_SIZE - 10);
+                    } else {
+                        SpriteCache.draw(g, frame, x, y, TILE_SIZE - 10, TILE_SIZE - 10);
+                    }
+                }
+            }
+        }
+    }
+
+    // Draws player character with animation frames depending on state
+    private void drawPlayer(Graphics g, FrameSnapshot f, int subtype, int x, int y) {
+        String playerType = (subtype == 1) ? f.player2 : f.player1;
+        int code = (subtype == 1) ? f.player2Dir : f.player1Dir;
+        String direction = DIRECTIONS[code];
+        boolean facingRight = code == 1;
+
+        boolean isGameOver = (subtype == 0) ? f.player1GameOver : f.player2GameOver;
+        int gameOverFrame = (subtype == 0) ? f.player1GameOverFrame : f.player2GameOverFrame;
+
+        // Draw game-over animation (the simulation advances its frame counter)
+        if (isGameOver) {
+            String animationKey = playerType + "/game_over";
+            List<BufferedImage> frames = playerAnimations.get(animationKey);
+            if (frames != null && frames.size() >= 15) {
+                int frameIndex = Math.min(gameOverFrame / 5, 14);
+                SpriteCache.draw(g, frames.get(frameIndex), x, y, TILE_SIZE, TILE_SIZE);
+            }
+            return;
+        }
+
+        // Draw victory animation
+        if (f.victory) {
+            String animationKey = playerType + "/victory";
+            List<BufferedImage> frames = playerAnimations.get(animationKey);
+            if (frames != null && !frames.isEmpty()) {
+                BufferedImage frame = frames.get(f.animFrame % frames.size());
+                SpriteCache.draw(g, frame, x, y, TILE_SIZE, TILE_SIZE);
+            }
+            return;
+        }
+
+        // Draw regular movement animation, with the flipped side frames if not facing right
+        String animKey = playerType + "/" + direction;
+        if (direction.equals("side") && !facingRight) animKey += "_left";
+        List<BufferedImage> frames = playerAnimations.get(animKey);
+        if (frames != null && !frames.isEmpty()) {
+            BufferedImage frame = frames.get(f.animFrame % frames.size());
+            SpriteCache.draw(g, frame, x, y, TILE_SIZE, TILE_SIZE);
+        }
+    }
+
+    // Flips an image horizontally (used for the side frames of players facing left)
+    private static BufferedImage flipImage(BufferedImage img) {
+        BufferedImage flipped = Assets.createImage(img.getWidth(), img.getHeight(), img.getTransparency());
+        Graphics2D g2 = flipped.createGraphics();
+        // Draw the image with negative width to flip it
+        g2.drawImage(img, img.getWidth(), 0, -img.getWidth(), img.getHeight(), null);
+        g2.dispose();
+        return flipped;
+    }
+
+    // Draws the pause menu overlay with buttons
+    private void pause(Graphics2D g2d) {
+        int frameW = 400;
+        int frameH = 200;
+        int frameX = (RenderScale.width() - frameW) / 2;
+        int frameY = (RenderScale.height() - frameH) / 2;
+
+        SpriteCache.draw(g2d, frameImage, frameX, frameY, frameW, frameH);
+
+        Font timerFont = new Font("Arial", Font.BOLD, 24);
+        g2d.setFont(timerFont);
+        FontMetrics fm = g2d.getFontMetrics();
+
+        String resume = "Resume";
+        String menu = "Return to Menu";
+
+        int resumeWidth = fm.stringWidth(resume);
+        int menuWidth = fm.stringWidth(menu);
+
+        int playX = RenderScale.width() / 2 - resumeWidth / 2;
+        int playY = frameY + 80;
+        int menuX = RenderScale.width() / 2 - menuWidth / 2;
+        int menuY = frameY + 140;
+
+        drawOutlinedText(g2d, resume, playX, playY, Color.WHITE, timerFont);
+        drawOutlinedText(g2d, menu, menuX, menuY, Color.WHITE, timerFont);
+
+        // Define clickable areas
+        resumeRect = new Rectangle(playX, playY - 24, resumeWidth, 30);
+        menuRect = new Rectangle(menuX, menuY - 24, menuWidth, 30);
+    }
+
+    // Draws the game over screen and buttons
+    private void gameOver(Graphics2D g2d, FrameSnapshot f) {
+        // Define dimensions and position for the frame in the center of the screen
+        int frameW = 400;
+        int frameH = 250;
+        int frameX = (RenderScale.width() - frameW) / 2;
+        int frameY = (RenderScale.height() - frameH) / 2;
+
+        // Draw the background image for the game over frame
+        SpriteCache.draw(g2d, frameImage, frameX, frameY, frameW, frameH);
+
+        // Define fonts for the header and subtext
+        Font titleFont = new Font("Arial", Font.BOLD, 28);
+        Font subFont = new Font("Arial", Font.BOLD, 24);
+
+        // Define the main header and the score to display
+        String headerText = "Total Meltdown!";
+        String combinedScore = "Combined Score: " + (f.player1Score + f.player2Score);
+
+        // Calculate position to center the header text within the frame
+        FontMetrics fmTitle = g2d.getFontMetrics(titleFont);
+        int winnerX = RenderScale.width() / 2 - fmTitle.stringWidth(headerText) / 2;
+        int winnerY = frameY + 40;
+
+        // Draw the game over header with an outline for better visibility
+        drawOutlinedText(g2d, headerText, winnerX, winnerY, Color.YELLOW, titleFont);
+
+        // Calculate position to center the score text below the header
+        FontMetrics fmSub = g2d.getFontMetrics(subFont);
+        int scoreX = RenderScale.width() / 2 - fmSub.stringWidth(combinedScore) / 2;
+        int scoreY = winnerY + 35;
+
+        // Draw the combined score below the header, followed by its leaderboard rank and the best scores
+        drawOutlinedText(g2d, combinedScore, scoreX, scoreY, Color.WHITE, subFont);
+        drawRank(g2d, f, scoreY);
+
+        // Define button labels
+        String resume = "Restart";
+        String menu = "Back to Menu";
+
+        // Measure button widths for centering
+        int resumeWidth = fmSub.stringWidth(resume);
+        int menuWidth = fmSub.stringWidth(menu);
+
+        // Calculate X/Y positions for "Restart" and "Back to Menu" buttons
+        int playX = RenderScale.width() / 2 - resumeWidth / 2;
+        int playY = scoreY + 75;
+        int menuX = RenderScale.width() / 2 - menuWidth / 2;
+        int menuY = playY + 80;
+
+        // Draw buttons with outlined text
+        drawOutlinedText(g2d, resume, playX, playY, Color.WHITE, subFont);
+        drawOutlinedText(g2d, menu, menuX, menuY, Color.WHITE, subFont);
+
+        // Define clickable rectangular areas for each button
+        resumeRect = new Rectangle(playX, playY - 24, resumeWidth, 30);
+        menuRect = new Rectangle(menuX, menuY - 24, menuWidth, 30);
+    }
+
+    // Displays the victory frame
+    private void victory(Graphics2D g2d, FrameSnapshot f) {
+        // Dimensions for the victory frame
+        int frameW = 400;
+        int frameH = 250;
+        int frameX = (RenderScale.width() - frameW) / 2;
+        int frameY = (RenderScale.height() - frameH) / 2;
+
+        // Draw background frame image
+        SpriteCache.draw(g2d, frameImage, frameX, frameY, frameW, frameH);
+
+        // Fonts for text display
+        Font titleFont = new Font("Arial", Font.BOLD, 28);
+        Font subFont = new Font("Arial", Font.BOLD, 24);
+
+        // Determine winner based on score
+        String winnerText;
+        if (f.player1Score > f.player2Score) {
+            winnerText = "Player 1 wins!";
+        } else if (f.player2Score > f.player1Score) {
+            winnerText = "Player 2 wins!";
+        } else {
+            winnerText = "It's a tie!";
+        }
+
+        // Display total combined score
+        String combinedScore = "Combined Score: " + (f.player1Score + f.player2Score);
+
+        // Centered positioning for text
+        FontMetrics fmTitle = g2d.getFontMetrics(titleFont);
+        int winnerX = RenderScale.width() / 2 - fmTitle.stringWidth(winnerText) / 2;
+        int winnerY = frameY + 40;
+
+        drawOutlinedText(g2d, winnerText, winnerX, winnerY, Color.YELLOW, titleFont);
+
+        FontMetrics fmSub = g2d.getFontMetrics(subFont);
+        int scoreX = RenderScale.width() / 2 - fmSub.stringWidth(combinedScore) / 2;
+        int scoreY = winnerY + 35;
+
+        drawOutlinedText(g2d, combinedScore, scoreX, scoreY, Color.WHITE, subFont);
+        drawRank(g2d, f, scoreY);
+
+        // Draw "Continue" and "Back to Menu" buttons
+        String resume = "Continue";
+        String menu = "Back to Menu";
+
+        int resumeWidth = fmSub.stringWidth(resume);
+        int menuWidth = fmSub.stringWidth(menu);
+
+        int playX = RenderScale.width() / 2 - resumeWidth / 2;
+        int playY = scoreY + 75;
+        int menuX = RenderScale.width() / 2 - menuWidth / 2;
+        int menuY = playY + 80;
+
+        drawOutlinedText(g2d, resume, playX, playY, Color.WHITE, subFont);
+        drawOutlinedText(g2d, menu, menuX, menuY, Color.WHITE, subFont);
+
+        // Store clickable bounds for interaction
+        resumeRect = new Rectangle(playX, playY - 24, resumeWidth, 30);
+        menuRect = new Rectangle(menuX, menuY - 24, menuWidth, 30);
+    }
+
+    // Draws the leaderboard rank of this match below the combined score, and the level's best scores under it
+    private void drawRank(Graphics2D g2d, FrameSnapshot f, int scoreY) {
+        if (f.leaderboardRank <= 0) return;
+        Font rankFont = new Font("Arial", Font.BOLD, 16);
+        String rankText = "Rank #" + f.leaderboardRank + " of " + f.leaderboardSize;
+        int rankX = RenderScale.width() / 2 - g2d.getFontMetrics(rankFont).stringWidth(rankText) / 2;
+        drawOutlinedText(g2d, rankText, rankX, scoreY + 25, Color.YELLOW, rankFont);
+
+        if (f.topScoreCount == 0) return;
+        Font topFont = new Font("Arial", Font.BOLD, 14);
+        StringBuilder topText = new StringBuilder("Best:");
+        for (int i = 0; i < f.topScoreCount; i++) topText.append("  ").append(f.topScores[i]);
+        int topX = RenderScale.width() / 2 - g2d.getFontMetrics(topFont).stringWidth(topText.toString()) / 2;
+        drawOutlinedText(g2d, topText.toString(), topX, scoreY + 45, Color.WHITE, topFont);
+    }
+}
@@ -1,5 +1,3 @@
-import java.awt.*;
-
 // Manage collision states, handle game-over logic, and support fruit tile manipulation on the game map
 public class Helper {
     // Flags to track if each player has collided
@@ -29,15 +27,15 @@ public class Helper {
         int currentTile = map[y][x];
         // Check if the tile is a fruit or player (tile codes: 5xx or 4)
         if (currentTile / 100 == 5 || currentTile / 10 == 4) {
-            Enemy.storedFruits.put(new Point(x, y), currentTile);
+            EnemySystem.storedFruits[y][x] = currentTile;
         }
     }
 
     // Restores a previously stored fruit tile at the given location or defaults to a breakable ice block (6)
     public static void restoreFruit(int[][] map, int x, int y) {
-        Point key = new Point(x, y);
-        if (Enemy.storedFruits.containsKey(key)) {
-            map[y][x] = Enemy.storedFruits.remove(key);
+        if (EnemySystem.storedFruits[y][x] != 0) {
+            map[y][x] = EnemySystem.storedFruits[y][x];
+            EnemySystem.storedFruits[y][x] = 0;
         } else {
             map[y][x] = 6;
         }
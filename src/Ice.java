@@ -1,28 +1,21 @@
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
-import java.awt.Point;
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
-import javax.imageio.ImageIO;
 
 public class Ice {
     // Caches for animation frames based on direction
     private static final Map<Integer, List<BufferedImage>> iceFormAnimations = new HashMap<>();
     private static final Map<Integer, List<BufferedImage>> iceBreakAnimations = new HashMap<>();
 
-    // Stores fruit tiles that were covered by ice, keyed by position
-    private static final Map<Point, Integer> storedFruits = new HashMap<>();
+    // Fruit (or caught player) tiles covered by ice, by row and column (0 where nothing is stored)
+    private static int[][] storedFruits = new int[1][1];
 
     // Loads a list of 3 animation frames from a specified path
     private static List<BufferedImage> loadFrames(String path) {
         List<BufferedImage> frames = new ArrayList<>();
         for (int i = 1; i < 4; i++) {
-            try {
-                frames.add(ImageIO.read(new File(path + i + ".png")));
-            } catch (IOException e) {
-                System.out.println(e.getMessage());
-            }
+            BufferedImage frame = Assets.image(path + i + ".png");
+            if (frame != null) frames.add(frame);
         }
         return frames;
     }
@@ -59,90 +52,163 @@ public class Ice {
         return iceBreakAnimations.get(dir);
     }
 
+    // Ticks between two steps of a trail (100 ms)
+    private static final int STEP_TICKS = 100 / EnemySystem.TICK_MS;
+
+    // Trails still growing or breaking, as parallel arrays: the last tile reached, the direction, whether the trail
+    // breaks ice, and the ticks left until its next step. Finished trails are swapped out with the last one.
+    private static int trails = 0;
+    private static int[] trailCol = new int[8], trailRow = new int[8], trailDx = new int[8], trailDy = new int[8];
+    private static int[] trailWait = new int[8];
+    private static boolean[] trailBreaks = new boolean[8];
+
+    // Forgets every trail and stored fruit when a level starts
+    public static void reset(int rows, int cols) {
+        trails = 0;
+        if (storedFruits.length != rows || storedFruits[0].length != cols) storedFruits = new int[rows][cols];
+        else for (int[] row : storedFruits) Arrays.fill(row, 0);
+    }
+
     // Forms a trail of ice in a direction until an invalid or blocked tile is encountered
     public static void formIce(int x, int y, int dx, int dy, int[][] map, int tileSize) {
-        Timer timer = new Timer();
-        Queue<Point> queue = new LinkedList<>();
-        // Start at the tile-based coordinate
-        queue.add(new Point(x / tileSize, y / tileSize));
-
-        // Repeated task every 100ms to grow the ice trail
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (queue.isEmpty()) {
-                    timer.cancel();
-                    return;
-                }
-
-                Point current = queue.poll();
-                int x = current.x;
-                int y = current.y;
-
-                int nextX = x + dx;
-                int nextY = y + dy;
-
-                // If the next tile is out of bounds or invalid, stop forming
-                if (isValid(map, nextY, nextX) || !canFormIce(map[nextY][nextX])) {
-                    timer.cancel();
-                    return;
-                }
-
-                int currentTile = map[nextY][nextX];
-                Point key = new Point(nextX, nextY);
-
-                // Store any fruit tile so it can be restored later
-                if (currentTile / 100 == 5 || (currentTile == 40 && GameState.player1GameOver) || (currentTile == 41 && GameState.player2GameOver)) {
-                    storedFruits.put(key, currentTile);
-                }
-
-                // Mark tile as ice (value 2)
-                map[nextY][nextX] = 2;
-                queue.add(new Point(nextX, nextY));
-            }
-        }, 0, 100);
+        start(x / tileSize, y / tileSize, dx, dy, false, map);
     }
 
     // Breaks a trail of ice in a direction, revealing underlying fruit or setting to normal tile
     public static void breakIce(int x, int y, int dx, int dy, int[][] map, int tileSize) {
-        Timer timer = new Timer();
-        Queue<Point> queue = new LinkedList<>();
-        // Start at the tile-based coordinate
-        queue.add(new Point(x / tileSize, y / tileSize));
-
-        // Repeated task every 100ms to break the ice trail
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                if (queue.isEmpty()) {
-                    timer.cancel();
-                    return;
-                }
-
-                Point current = queue.poll();
-                int x = current.x;
-                int y = current.y;
-
-                int nextX = x + dx;
-                int nextY = y + dy;
-
-                // If the next tile is out of bounds or not ice, stop breaking
-                if (isValid(map, nextY, nextX) || map[nextY][nextX] != 2) {
-                    timer.cancel();
-                    return;
-                }
-
-                Point key = new Point(nextX, nextY);
-                // Restore fruit tile if one was stored, otherwise mark as broken ice (value 6)
-                if (storedFruits.containsKey(key)) {
-                    map[nextY][nextX] = storedFruits.remove(key);
-                } else {
-                    map[nextY][nextX] = 6;
-                }
-
-                queue.add(new Point(nextX, nextY));
+        start(x / tileSize, y / tileSize, dx, dy, true, map);
+    }
+
+    // Adds a trail starting at a tile and takes its first step straight away
+    private static void start(int col, int row, int dx, int dy, boolean breaks, int[][] map) {
+        if (trails == trailCol.length) grow();
+        int i = trails++;
+        trailCol[i] = col;
+        trailRow[i] = row;
+        trailDx[i] = dx;
+        trailDy[i] = dy;
+        trailBreaks[i] = breaks;
+        if (step(i, map)) trailWait[i] = STEP_TICKS;
+        else remove(i);
+    }
+
+    // Fruit covered by ice, tracked by the rewind buffer along with the map
+    static int[][] storedFruits() {
+        return storedFruits;
+    }
+
+    // Values save writes: the trail count, then each trail
+    static int saveSize() {
+        return 1 + trails * 6;
+    }
+
+    // Writes every trail into a rewind frame from position at, returning the position after it
+    static int save(int[] out, int at) {
+        out[at++] = trails;
+        for (int i = 0; i < trails; i++) {
+            out[at++] = trailCol[i];
+            out[at++] = trailRow[i];
+            out[at++] = trailDx[i];
+            out[at++] = trailDy[i];
+            out[at++] = trailWait[i];
+            out[at++] = trailBreaks[i] ? 1 : 0;
+        }
+        return at;
+    }
+
+    // Restores the trails written by save
+    static int load(int[] in, int at) {
+        trails = 0;
+        int n = in[at++];
+        for (int i = 0; i < n; i++) {
+            if (trails == trailCol.length) grow();
+            trailCol[i] = in[at++];
+            trailRow[i] = in[at++];
+            trailDx[i] = in[at++];
+            trailDy[i] = in[at++];
+            trailWait[i] = in[at++];
+            trailBreaks[i] = in[at++] == 1;
+            trails++;
+        }
+        return at;
+    }
+
+    // Number of trails still growing or breaking
+    public static int activeTrails() {
+        return trails;
+    }
+
+    // Advances every trail on the movement tick
+    public static void tick(int[][] map) {
+        for (int i = trails - 1; i >= 0; i--) {
+            if (--trailWait[i] > 0) continue;
+            if (step(i, map)) trailWait[i] = STEP_TICKS;
+            else remove(i);
+        }
+    }
+
+    // Extends trail i by one tile, returning false once it has stopped
+    private static boolean step(int i, int[][] map) {
+        int nextX = trailCol[i] + trailDx[i];
+        int nextY = trailRow[i] + trailDy[i];
+
+        if (trailBreaks[i]) {
+            // If the next tile is out of bounds or not ice, stop breaking
+            if (isValid(map, nextY, nextX) || map[nextY][nextX] != 2) return false;
+
+            // Restore fruit tile if one was stored, otherwise mark as broken ice (value 6)
+            if (storedFruits[nextY][nextX] != 0) {
+                map[nextY][nextX] = storedFruits[nextY][nextX];
+                storedFruits[nextY][nextX] = 0;
+            } else {
+                map[nextY][nextX] = 6;
+            }
+        } else {
+            // If the next tile is out of bounds or invalid, stop forming
+            if (isValid(map, nextY, nextX) || !canFormIce(map[nextY][nextX])) return false;
+
+            // Store any fruit tile so it can be restored later
+            int currentTile = map[nextY][nextX];
+            if (currentTile / 100 == 5 || (currentTile == 40 && GameState.player1GameOver) || (currentTile == 41 && GameState.player2GameOver)) {
+                storedFruits[nextY][nextX] = currentTile;
             }
-        }, 0, 100);
+
+            // Mark tile as ice (value 2)
+            map[nextY][nextX] = 2;
+        }
+        EnemySystem.tileChanged(nextX, nextY);
+        if (GameEvents.ICE_STEP.isEnabled()) {
+            GameEvents.IceStep event = new GameEvents.IceStep();
+            event.col = nextX;
+            event.row = nextY;
+            event.breaking = trailBreaks[i];
+            event.commit();
+        }
+        trailCol[i] = nextX;
+        trailRow[i] = nextY;
+        return true;
+    }
+
+    // Drops trail i by moving the last trail into its slot
+    private static void remove(int i) {
+        int last = --trails;
+        trailCol[i] = trailCol[last];
+        trailRow[i] = trailRow[last];
+        trailDx[i] = trailDx[last];
+        trailDy[i] = trailDy[last];
+        trailWait[i] = trailWait[last];
+        trailBreaks[i] = trailBreaks[last];
+    }
+
+    // Doubles the capacity of the trail arrays
+    private static void grow() {
+        int n = trailCol.length * 2;
+        trailCol = Arrays.copyOf(trailCol, n);
+        trailRow = Arrays.copyOf(trailRow, n);
+        trailDx = Arrays.copyOf(trailDx, n);
+        trailDy = Arrays.copyOf(trailDy, n);
+        trailWait = Arrays.copyOf(trailWait, n);
+        trailBreaks = Arrays.copyOf(trailBreaks, n);
     }
 
     // Draws the current frame of the ice formation animation
@@ -150,7 +216,7 @@ public class Ice {
         List<BufferedImage> frames = getIceFormFrames(direction[0], direction[1]);
         if (!frames.isEmpty()) {
             BufferedImage frame = frames.get(frameIndex % frames.size());
-            g.drawImage(frame, x, y, tileSize, tileSize, null);
+            SpriteCache.draw(g, frame, x, y, tileSize, tileSize);
         }
     }
 
@@ -159,7 +225,7 @@ public class Ice {
         List<BufferedImage> frames = getIceBreakFrames(direction[0], direction[1]);
         if (!frames.isEmpty()) {
             BufferedImage frame = frames.get(frameIndex % frames.size());
-            g.drawImage(frame, x, y, tileSize, tileSize, null);
+            SpriteCache.draw(g, frame, x, y, tileSize, tileSize);
         }
     }
 
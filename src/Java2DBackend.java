@@ -0,0 +1,32 @@
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+// Renders through Graphics.drawImage, letting the Java2D pipeline pick the loops (and the GPU when it has one)
+public class Java2DBackend implements RenderBackend {
+    // Shared identity transform for device-pixel blits (never modified)
+    private static final AffineTransform IDENTITY = new AffineTransform();
+
+    @Override
+    public BufferedImage createFrame(int width, int height) {
+        return Assets.createImage(width, height, Transparency.OPAQUE);
+    }
+
+    @Override
+    public Graphics2D begin(BufferedImage frame) {
+        return frame.createGraphics();
+    }
+
+    @Override
+    public void blit(Graphics2D g, BufferedImage sprite, int x, int y) {
+        AffineTransform at = g.getTransform();
+        g.setTransform(IDENTITY);
+        g.drawImage(sprite, x, y, null);
+        g.setTransform(at);
+    }
+
+    @Override
+    public void end(Graphics2D g) {
+        g.dispose();
+    }
+}
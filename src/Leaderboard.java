@@ -0,0 +1,120 @@
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+// Per-level leaderboard of combined scores, stored as a Fenwick tree of score counts in a memory-mapped file.
+// Inserts only write the mapping; it is forced to disk on ProgressStore's writer thread once a second and at exit.
+public class Leaderboard {
+    // Scores are grouped into buckets of 100 (every fruit is worth a multiple of 100)
+    static final int BUCKET = 100;
+    static final int BUCKETS = 1 << 16;
+
+    // Open leaderboards keyed by level
+    private static final Map<Integer, Leaderboard> boards = new HashMap<>();
+
+    // Slot 0 holds the total count, slots 1..BUCKETS hold the Fenwick tree
+    private final MappedByteBuffer mapped;
+    private final LongBuffer tree;
+    private boolean dirty = false;
+
+    private Leaderboard(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) (BUCKETS + 1) * Long.BYTES);
+        }
+        tree = mapped.asLongBuffer();
+    }
+
+    // Returns the leaderboard for a level, or null if its file can't be opened
+    public static synchronized Leaderboard forLevel(int level) {
+        Leaderboard board = boards.get(level);
+        if (board == null) {
+            try {
+                board = new Leaderboard(Paths.get("leaderboard" + level + ".idx"));
+                if (boards.isEmpty()) ProgressStore.addFlush(Leaderboard::flushAll);
+                boards.put(level, board);
+            } catch (IOException e) {
+                System.out.println("Leaderboard could not be opened: " + e.getMessage());
+            }
+        }
+        return board;
+    }
+
+    // Adds one score in O(log n)
+    public synchronized void insert(int score) {
+        add(bucket(score), 1);
+        dirty = true;
+    }
+
+    // Writes inserted scores through to the file. The OS writes the mapping back on exit anyway; this guards
+    // against losing them to a power cut.
+    private synchronized void flush() {
+        if (!dirty) return;
+        mapped.force();
+        dirty = false;
+    }
+
+    // Flushes every open leaderboard
+    static synchronized void flushAll() {
+        for (Leaderboard board : boards.values()) board.flush();
+    }
+
+    // Total number of recorded scores
+    public synchronized long size() {
+        return tree.get(0);
+    }
+
+    // Position a score would have on the board (1 = best), ties share a rank
+    public synchronized long rankOf(int score) {
+        long total = tree.get(0);
+        return 1 + total - prefix(bucket(score) + 1);
+    }
+
+    // Fills scores with the best ones, highest first (rounded down to the bucket size), and returns how many there were
+    public synchronized int top(int[] scores) {
+        long total = tree.get(0);
+        int count = (int) Math.min(scores.length, total);
+        for (int i = 0; i < count; i++) {
+            scores[i] = findSmallest(total - i) * BUCKET;
+        }
+        return count;
+    }
+
+    private static int bucket(int score) {
+        return Math.max(0, Math.min(BUCKETS - 1, score / BUCKET));
+    }
+
+    // Adds delta to a bucket's count
+    private void add(int bucket, long delta) {
+        tree.put(0, tree.get(0) + delta);
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree.put(i, tree.get(i) + delta);
+        }
+    }
+
+    // Number of scores in buckets 0..index-1
+    private long prefix(int index) {
+        long sum = 0;
+        for (int i = index; i > 0; i -= i & -i) sum += tree.get(i);
+        return sum;
+    }
+
+    // Bucket holding the k-th smallest score (1-based), found by descending the tree
+    private int findSmallest(long k) {
+        int pos = 0;
+        for (int step = BUCKETS; step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= BUCKETS && tree.get(next) < k) {
+                pos = next;
+                k -= tree.get(next);
+            }
+        }
+        return pos;
+    }
+}
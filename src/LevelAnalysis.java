@@ -0,0 +1,59 @@
+import java.util.ArrayList;
+import java.util.List;
+
+// Precomputed facts about one level, shared by the AI and level tooling
+public class LevelAnalysis {
+    final long checksum;
+    final int rows, cols;
+
+    // Region id of every cell when ice is treated as passable (-1 for obstacles)
+    final int[][] regions;
+    int regionCount;
+
+    // Spawn cells (column, row) for player 1 and player 2, null if missing
+    final int[][] spawns = new int[2][];
+
+    // Distances from each spawn with ice breakable, and with ice treated as a wall
+    final int[][][] spawnDistance = new int[2][][];
+    final int[][][] spawnDistanceNoIce = new int[2][][];
+
+    // Fruit entries (column, row, distance from spawn 1, distance from spawn 2), -1 if unreachable
+    final List<int[]> fruits = new ArrayList<>();
+    final List<int[]> unreachableFruits = new ArrayList<>();
+    final List<int[]> iceBlockedFruits = new ArrayList<>();
+
+    // Open cells with at most one open neighbour
+    final boolean[][] deadEnds;
+
+    // Enemy entries (column, row, subtype) and the cells each enemy can roam
+    final List<int[]> enemies = new ArrayList<>();
+    final List<boolean[][]> territories = new ArrayList<>();
+
+    LevelAnalysis(long checksum, int rows, int cols) {
+        this.checksum = checksum;
+        this.rows = rows;
+        this.cols = cols;
+        this.regions = new int[rows][cols];
+        this.deadEnds = new boolean[rows][cols];
+    }
+
+    // Returns true if both cells lie in the same region, i.e. a path may exist once ice is broken
+    public boolean sameRegion(int col1, int row1, int col2, int row2) {
+        if (row1 < 0 || col1 < 0 || row1 >= rows || col1 >= cols) return false;
+        if (row2 < 0 || col2 < 0 || row2 >= rows || col2 >= cols) return false;
+        return regions[row1][col1] >= 0 && regions[row1][col1] == regions[row2][col2];
+    }
+
+    // A level is playable if both spawns exist and every fruit can be reached
+    public boolean isPlayable() {
+        return spawns[0] != null && spawns[1] != null && unreachableFruits.isEmpty();
+    }
+
+    public String summary() {
+        int deadEndCount = 0;
+        for (boolean[] row : deadEnds) for (boolean d : row) if (d) deadEndCount++;
+        return regionCount + " regions, " + fruits.size() + " fruit (" + unreachableFruits.size() + " unreachable, "
+                + iceBlockedFruits.size() + " behind ice), " + deadEndCount + " dead ends, " + enemies.size() + " enemies"
+                + (spawns[0] == null || spawns[1] == null ? ", missing spawn" : "");
+    }
+}
@@ -0,0 +1,184 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// Analyzes a level once at load time (or offline) for reachability, fruit distances, dead ends and enemy territories
+public class LevelAnalyzer {
+    // Results cached by level checksum so reloading a level doesn't repeat the analysis
+    private static final Map<Long, LevelAnalysis> cache = new HashMap<>();
+
+    // Neighbour offsets (column, row)
+    private static final int[][] DIRS = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
+
+    // Returns the cached analysis for this map, analyzing it on first use
+    public static LevelAnalysis analyze(int[][] map) {
+        long checksum = checksum(map);
+        LevelAnalysis analysis = cache.get(checksum);
+        if (analysis == null) {
+            analysis = compute(map, checksum);
+            cache.put(checksum, analysis);
+        }
+        return analysis;
+    }
+
+    // CRC32 of every tile value, used as the cache key
+    public static long checksum(int[][] map) {
+        CRC32 crc = new CRC32();
+        for (int[] row : map) {
+            for (int tile : row) {
+                crc.update(tile >>> 24);
+                crc.update(tile >>> 16);
+                crc.update(tile >>> 8);
+                crc.update(tile);
+            }
+        }
+        return crc.getValue();
+    }
+
+    // Static obstacles never change during a level (corners, walls and buildings)
+    static boolean isObstacle(int tile) {
+        return tile == 0 || tile / 10 == 1 || tile / 10 == 7;
+    }
+
+    // Tiles enemies can walk on without breaking ice (ground, fruit, players, and other enemies' cells)
+    private static boolean isOpen(int tile) {
+        return tile == 6 || tile / 100 == 5 || tile / 10 == 4 || tile / 10 == 3;
+    }
+
+    private static LevelAnalysis compute(int[][] map, long checksum) {
+        int rows = map.length;
+        int cols = map[0].length;
+        LevelAnalysis a = new LevelAnalysis(checksum, rows, cols);
+
+        // Label connected regions, treating ice as passable since players can break it
+        int regionCount = 0;
+        for (int[] row : a.regions) Arrays.fill(row, -1);
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (a.regions[row][col] == -1 && !isObstacle(map[row][col])) {
+                    flood(map, a.regions, col, row, regionCount++, true);
+                }
+            }
+        }
+        a.regionCount = regionCount;
+
+        // Locate spawns, fruit and enemies
+        List<int[]> fruits = new ArrayList<>();
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int tile = map[row][col];
+                if (tile == 40) a.spawns[0] = new int[]{col, row};
+                else if (tile == 41) a.spawns[1] = new int[]{col, row};
+                else if (tile / 100 == 5) fruits.add(new int[]{col, row});
+                else if (tile / 10 == 3) a.enemies.add(new int[]{col, row, tile % 10});
+            }
+        }
+
+        // Distances from each spawn, with and without breaking ice
+        for (int s = 0; s < 2; s++) {
+            if (a.spawns[s] == null) continue;
+            a.spawnDistance[s] = distances(map, a.spawns[s][0], a.spawns[s][1], true);
+            a.spawnDistanceNoIce[s] = distances(map, a.spawns[s][0], a.spawns[s][1], false);
+        }
+
+        // Fruit distances and reachability
+        for (int[] f : fruits) {
+            int d1 = a.spawnDistance[0] != null ? a.spawnDistance[0][f[1]][f[0]] : -1;
+            int d2 = a.spawnDistance[1] != null ? a.spawnDistance[1][f[1]][f[0]] : -1;
+            int n1 = a.spawnDistanceNoIce[0] != null ? a.spawnDistanceNoIce[0][f[1]][f[0]] : -1;
+            int n2 = a.spawnDistanceNoIce[1] != null ? a.spawnDistanceNoIce[1][f[1]][f[0]] : -1;
+            a.fruits.add(new int[]{f[0], f[1], d1, d2});
+            if (d1 < 0 && d2 < 0) a.unreachableFruits.add(f);
+            else if (n1 < 0 && n2 < 0) a.iceBlockedFruits.add(f);
+        }
+
+        // Dead ends are open cells with at most one open neighbour
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (isObstacle(map[row][col])) continue;
+                int open = 0;
+                for (int[] d : DIRS) {
+                    int nc = col + d[0], nr = row + d[1];
+                    if (nr >= 0 && nc >= 0 && nr < rows && nc < cols && !isObstacle(map[nr][nc])) open++;
+                }
+                a.deadEnds[row][col] = open <= 1;
+            }
+        }
+
+        // Enemy territories: types that break ice can cross it, the others roam only the initially open cells
+        for (int[] e : a.enemies) {
+            boolean breaksIce = EnemyTypes.breaksIce(e[2]);
+            int[][] dist = distances(map, e[0], e[1], breaksIce);
+            boolean[][] territory = new boolean[rows][cols];
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++) territory[row][col] = dist[row][col] >= 0;
+            }
+            a.territories.add(territory);
+        }
+        return a;
+    }
+
+    // Labels every cell connected to the start cell with the given region id
+    private static void flood(int[][] map, int[][] regions, int startCol, int startRow, int id, boolean throughIce) {
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        regions[startRow][startCol] = id;
+        queue.add(new int[]{startCol, startRow});
+        while (!queue.isEmpty()) {
+            int[] cur = queue.poll();
+            for (int[] d : DIRS) {
+                int nc = cur[0] + d[0], nr = cur[1] + d[1];
+                if (nr < 0 || nc < 0 || nr >= map.length || nc >= map[0].length || regions[nr][nc] != -1) continue;
+                int tile = map[nr][nc];
+                if (isOpen(tile) || (throughIce && tile == 2)) {
+                    regions[nr][nc] = id;
+                    queue.add(new int[]{nc, nr});
+                }
+            }
+        }
+    }
+
+    // Breadth-first distances from a cell (-1 where unreachable)
+    private static int[][] distances(int[][] map, int startCol, int startRow, boolean throughIce) {
+        int rows = map.length, cols = map[0].length;
+        int[][] dist = new int[rows][cols];
+        for (int[] row : dist) Arrays.fill(row, -1);
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        dist[startRow][startCol] = 0;
+        queue.add(new int[]{startCol, startRow});
+        while (!queue.isEmpty()) {
+            int[] cur = queue.poll();
+            for (int[] d : DIRS) {
+                int nc = cur[0] + d[0], nr = cur[1] + d[1];
+                if (nr < 0 || nc < 0 || nr >= rows || nc >= cols || dist[nr][nc] != -1) continue;
+                int tile = map[nr][nc];
+                if (isOpen(tile) || (throughIce && tile == 2)) {
+                    dist[nr][nc] = dist[cur[1]][cur[0]] + 1;
+                    queue.add(new int[]{nc, nr});
+                }
+            }
+        }
+        return dist;
+    }
+
+    // Offline check of level files, e.g. "java LevelAnalyzer level0.txt level1.txt", exits with 1 if any level is broken
+    public static void main(String[] args) {
+        boolean broken = false;
+        for (String path : args) {
+            try {
+                LevelAnalysis a = analyze(LevelPack.readText(new File(path), 18, 18));
+                System.out.println(path + ": " + a.summary());
+                if (!a.isPlayable()) broken = true;
+            } catch (FileNotFoundException e) {
+                System.err.println("Level file not found: " + path);
+                broken = true;
+            }
+        }
+        if (broken) System.exit(1);
+    }
+}
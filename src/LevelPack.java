@@ -0,0 +1,185 @@
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.BufferedOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Loads levels from an indexed pack file (falling back to loose levelN.txt files) and preloads upcoming levels
+public class LevelPack {
+    // Pack file layout: magic, level count, index table of (offset, length), then one block per level
+    static final String PACK_FILE = "levels.pack";
+    private static final int MAGIC = 0x42494350;
+    private static final int ROWS = 18;
+    private static final int COLS = 18;
+
+    // Index table, read lazily the first time the pack is used
+    private static RandomAccessFile pack;
+    private static long[] offsets;
+    private static int[] lengths;
+    private static boolean indexLoaded = false;
+    private static int looseLevelCount = -1;
+
+    // Decoded levels (or levels still being decoded in the background), keyed by level index
+    private static final Map<Integer, Future<int[][]>> levels = new ConcurrentHashMap<>();
+
+    // Single background thread used to decode the next level while the current one is finishing
+    private static final ExecutorService preloader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "level-preloader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Number of playable levels in the pack (or consecutive loose level files)
+    public static synchronized int levelCount() {
+        loadIndex();
+        if (offsets != null) return offsets.length;
+        if (looseLevelCount < 0) {
+            looseLevelCount = 0;
+            while (new File("level" + looseLevelCount + ".txt").exists()) looseLevelCount++;
+        }
+        return looseLevelCount;
+    }
+
+    // Starts decoding a level, and loading the sprites every level needs, in the background so they are ready
+    // when requested
+    public static void preload(int level) {
+        if (level < 0 || level >= levelCount()) return;
+        levels.computeIfAbsent(level, l -> preloader.submit(() -> decode(l)));
+        if (!Assets.isResident(GamePanel.ASSETS)) Assets.preload(GamePanel.ASSETS, (done, count) -> {});
+    }
+
+    // Returns a fresh copy of the level's tiles, waiting for a background load if one is in progress
+    public static int[][] load(int level) throws IOException {
+        Future<int[][]> future = levels.get(level);
+        int[][] tiles;
+        if (future != null) {
+            try {
+                tiles = future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while loading level " + level, e);
+            } catch (ExecutionException e) {
+                levels.remove(level);
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException io) throw io;
+                throw new IOException("Could not load level " + level, e);
+            }
+        } else {
+            tiles = decode(level);
+            levels.put(level, CompletableFuture.completedFuture(tiles));
+        }
+
+        // Callers modify the map while playing, so never hand out the cached grid
+        int[][] copy = new int[tiles.length][];
+        for (int row = 0; row < tiles.length; row++) copy[row] = tiles[row].clone();
+        return copy;
+    }
+
+    // Reads the pack index if a pack file exists
+    private static synchronized void loadIndex() {
+        if (indexLoaded) return;
+        indexLoaded = true;
+        File file = new File(PACK_FILE);
+        if (!file.exists()) return;
+        try {
+            pack = new RandomAccessFile(file, "r");
+            if (pack.readInt() != MAGIC) throw new IOException("Not a level pack: " + PACK_FILE);
+            int count = pack.readInt();
+            offsets = new long[count];
+            lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = pack.readInt();
+                lengths[i] = pack.readInt();
+            }
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            offsets = null;
+            lengths = null;
+            // Fall back to loose level files without keeping the unusable pack open
+            if (pack != null) {
+                try {
+                    pack.close();
+                } catch (IOException closeError) {
+                    System.out.println(closeError.getMessage());
+                }
+                pack = null;
+            }
+        }
+    }
+
+    // Decodes one level from the pack, or from its loose text file when there is no pack
+    private static int[][] decode(int level) throws IOException {
+        loadIndex();
+        if (offsets == null) return readText(new File("level" + level + ".txt"), ROWS, COLS);
+        if (level < 0 || level >= offsets.length) throw new FileNotFoundException("level" + level + " (not in " + PACK_FILE + ")");
+
+        byte[] block = new byte[lengths[level]];
+        synchronized (LevelPack.class) {
+            pack.seek(offsets[level]);
+            pack.readFully(block);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(block);
+        int rows = buffer.getShort();
+        int cols = buffer.getShort();
+        int[][] tiles = new int[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) tiles[row][col] = buffer.getShort();
+        }
+        return tiles;
+    }
+
+    // Reads a whitespace separated level text file into a grid
+    static int[][] readText(File file, int rows, int cols) throws FileNotFoundException {
+        int[][] map = new int[rows][cols];
+        try (Scanner scanner = new Scanner(file)) {
+            for (int row = 0; row < rows && scanner.hasNextLine(); row++) {
+                String[] tokens = scanner.nextLine().trim().split("\\s+");
+                for (int col = 0; col < cols && col < tokens.length; col++) {
+                    try {
+                        map[row][col] = Integer.parseInt(tokens[col]);
+                    } catch (NumberFormatException e) {
+                        map[row][col] = 0;
+                    }
+                }
+            }
+        }
+        return map;
+    }
+
+    // Builds a pack from level text files, e.g. "java LevelPack levels.pack level0.txt level1.txt level2.txt"
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: LevelPack <output.pack> <level0.txt> [level1.txt ...]");
+            return;
+        }
+        int count = args.length - 1;
+        int blockSize = 4 + ROWS * COLS * 2;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(args[0])))) {
+            out.writeInt(MAGIC);
+            out.writeInt(count);
+            int offset = 8 + count * 8;
+            for (int i = 0; i < count; i++) {
+                out.writeInt(offset + i * blockSize);
+                out.writeInt(blockSize);
+            }
+            for (int i = 0; i < count; i++) {
+                int[][] tiles = readText(new File(args[i + 1]), ROWS, COLS);
+                out.writeShort(ROWS);
+                out.writeShort(COLS);
+                for (int[] row : tiles) for (int tile : row) out.writeShort(tile);
+            }
+        }
+        System.out.println("Wrote " + count + " levels to " + args[0]);
+    }
+}
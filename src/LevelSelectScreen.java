@@ -4,19 +4,11 @@ import java.awt.event.*;
 import java.awt.font.TextLayout;
 import java.awt.image.BufferedImage;
 import java.awt.geom.AffineTransform;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import javax.imageio.ImageIO;
 
 // Displays the level selection screen
-public class LevelSelectScreen extends JPanel {
+public class LevelSelectScreen extends JPanel implements Screen {
     // Images used for UI elements
-    private BufferedImage snowflakeImage, frameImage, unlockedImage, lockedImage, lockIcon, backButtonImage, dripImage;
-
-    // Snowflake animation list
-    private final List<Snowflake> snowflakes;
+    private BufferedImage frameImage, unlockedImage, lockedImage, lockIcon, backButtonImage;
 
     // Status of each level: "locked", "unlocked", "completed"
     public static final String[] levelStatus = new String[40];
@@ -24,91 +16,51 @@ public class LevelSelectScreen extends JPanel {
     // Defines the clickable area for the "Back" button
     private final Rectangle backButtonRect = new Rectangle(230, 540, 200, 60);
 
-    // Snowflake layout configuration
-    private static final int snowflakeRow = 9, snowflakeCol = 10, spacingX = 130, spacingY = 130;
-
-    // Controls vertical position of drip animation during transition
-    private int dripY = -600;
-
-    private Timer dripTimer;
+    // Set once a level has been picked so further clicks are ignored
     private boolean transitioning = false;
 
-    public static class Snowflake {
-        Point position;
-        double angle;
-
-        // Class to represent individual animated snowflakes
-        public Snowflake(int x, int y) {
-            this.position = new Point(x, y);
-            this.angle = Math.random() * 360;
-        }
-    }
+    // Assets that must be resident before the screen is shown
+    static final String[] ASSETS = {
+            "../graphics/images/map/frames/snowflake.png",
+            "../graphics/images/map/frames/large_blank_rectangle_frame.png",
+            "../graphics/images/map/buttons/button_frame.png",
+            "../graphics/images/map/buttons/locked_button.png",
+            "../graphics/images/map/buttons/lock.png",
+            "../graphics/images/map/frames/drip_animation.png"
+    };
 
     public LevelSelectScreen(String player1Flavour, String player2Flavour) {
         // Load all necessary images
-        try {
-            snowflakeImage = ImageIO.read(new File("../graphics/images/map/frames/snowflake.png"));
-            frameImage = ImageIO.read(new File("../graphics/images/map/frames/large_blank_rectangle_frame.png"));
-            unlockedImage = ImageIO.read(new File("../graphics/images/map/buttons/button_frame.png"));
-            lockedImage = ImageIO.read(new File("../graphics/images/map/buttons/locked_button.png"));
-            lockIcon = ImageIO.read(new File("../graphics/images/map/buttons/lock.png"));
-            backButtonImage = ImageIO.read(new File("../graphics/images/map/buttons/button_frame.png"));
-            dripImage = ImageIO.read(new File("../graphics/images/map/frames/drip_animation.png"));
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
-        }
-
-        // Initialize snowflakes in a diagonal grid pattern
-        snowflakes = new ArrayList<>();
-        for (int row = 0; row < snowflakeRow; row++) {
-            for (int col = 0; col < snowflakeCol; col++) {
-                int x = col * spacingX;
-                int y = row * spacingY - col * spacingY;
-                snowflakes.add(new Snowflake(x, y));
-            }
-        }
+        frameImage = Assets.image("../graphics/images/map/frames/large_blank_rectangle_frame.png");
+        unlockedImage = Assets.image("../graphics/images/map/buttons/button_frame.png");
+        lockedImage = Assets.image("../graphics/images/map/buttons/locked_button.png");
+        lockIcon = Assets.image("../graphics/images/map/buttons/lock.png");
+        backButtonImage = Assets.image("../graphics/images/map/buttons/button_frame.png");
 
         // Initialize level statuses if not yet set
-        if (levelStatus[0] == null) {
-            for (int i = 0; i < 40; i++) levelStatus[i] = "locked";
-            levelStatus[0] = "unlocked";
-        }
+        initLevelStatus();
 
         // Timer to animate snowflakes falling diagonally
-        Timer snowTimer = new Timer(100, _ -> {
-            for (Snowflake flake : snowflakes) {
-                flake.position.x -= 2;
-                flake.position.y += 2;
-                flake.angle = (flake.angle + 5) % 360;
-                // Reset snowflake if it exits the screen
-                if (flake.position.x < -65 || flake.position.y > getHeight()) {
-                    flake.position.x = getWidth();
-                    flake.position.y -= getHeight() + snowflakeRow * spacingY;
-                }
-            }
+        Scheduler.every(this, 100, _ -> {
+            SnowField.shared().update(RenderScale.width(), RenderScale.height());
             // Refresh screen to show new positions
             repaint();
         });
-        snowTimer.start();
 
         // Handle mouse clicks for buttons
         addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
-                Point p = e.getPoint();
+                Point p = RenderScale.toLogical(e.getPoint());
                 // Handle "Back" button
                 if (backButtonRect.contains(p)) {
-                    Container parent = LevelSelectScreen.this.getParent();
-                    parent.removeAll();
-                    parent.add(new FlavourSelectScreen());
-                    parent.revalidate();
-                    parent.repaint();
+                    LoadingScreen.show(LevelSelectScreen.this.getParent(), FlavourSelectScreen.ASSETS, FlavourSelectScreen::new);
                 }
 
                 // Determine location of level buttons and detect clicks
                 int frameW = 575;
                 int frameH = 600;
-                int frameX = (getWidth() - frameW) / 2;
-                int frameY = (getHeight() - frameH) / 2;
+                int frameX = (RenderScale.width() - frameW) / 2;
+                int frameY = (RenderScale.height() - frameH) / 2;
                 int buttonSize = 60;
                 int gap = 35;
 
@@ -120,7 +72,7 @@ public class LevelSelectScreen extends JPanel {
                     Rectangle rect = new Rectangle(x, y, buttonSize, buttonSize);
 
                     // Only allow clicking on unlocked or completed levels
-                    if (rect.contains(p) && (levelStatus[i].equals("unlocked") || levelStatus[i].equals("completed")) && i < 3) {
+                    if (!transitioning && rect.contains(p) && (levelStatus[i].equals("unlocked") || levelStatus[i].equals("completed")) && i < LevelPack.levelCount()) {
                         // Start level transition
                         transition(i, player1Flavour, player2Flavour);
                         break;
@@ -130,55 +82,30 @@ public class LevelSelectScreen extends JPanel {
         });
     }
 
-    // Called when a level is clicked; begins the drip transition
+    // Called when a level is clicked; wipes to the GamePanel with the drip transition
     private void transition(int level, String player1Flavour, String player2Flavour) {
         transitioning = true;
-        dripTimer = new Timer(15, _ -> {
-            dripY += 10;
-            // Animate drip image falling
-            repaint();
-            if (dripY >= getHeight()) {
-                dripTimer.stop();
-                // Create new JFrame
-                JFrame topFrame = (JFrame) SwingUtilities.getWindowAncestor(LevelSelectScreen.this);
-                // Removes content on screen
-                topFrame.getContentPane().removeAll();
-                // Stop background music
-                Main.stopSound();
-                // Creates and displays the GamePanel screen
-                GamePanel game = new GamePanel(level, player1Flavour, player2Flavour);
-                topFrame.getContentPane().add(game);
-                topFrame.revalidate();
-                topFrame.repaint();
-                game.requestFocusInWindow();
-            }
-        });
-        dripTimer.start();
+        ScreenTransition.drip(this, GamePanel.ASSETS, () -> new GamePanel(level, player1Flavour, player2Flavour));
     }
 
-    // Paint the entire screen including background, snowflakes, buttons, and transition
+    // Paint the entire screen including background, snowflakes and buttons
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
         setBackground(new Color(246, 254, 254, 255));
 
         Graphics2D g2d = (Graphics2D) g;
+        RenderScale.apply(g2d);
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
         // Draw animated snowflakes
-        for (Snowflake flake : snowflakes) {
-            AffineTransform old = g2d.getTransform();
-            g2d.translate(flake.position.x + 32, flake.position.y + 32);
-            g2d.rotate(Math.toRadians(flake.angle));
-            g2d.drawImage(snowflakeImage, -32, -32, 65, 65, null);
-            g2d.setTransform(old);
-        }
+        SnowField.shared().draw(g2d);
 
         // Draw central frame
         int frameW = 575;
         int frameH = 610;
-        int frameX = (getWidth() - frameW) / 2;
-        int frameY = (getHeight() - frameH) / 2;
-        g2d.drawImage(frameImage, frameX, frameY, frameW, frameH, null);
+        int frameX = (RenderScale.width() - frameW) / 2;
+        int frameY = (RenderScale.height() - frameH) / 2;
+        SpriteCache.draw(g2d, frameImage, frameX, frameY, frameW, frameH);
 
         // Draw title
         String title = "level selection";
@@ -199,7 +126,7 @@ public class LevelSelectScreen extends JPanel {
             // Draw locked button and lock icon
             if (levelStatus[i].equals("locked")) {
                 int unlockedW = buttonSize + 20;
-                g2d.drawImage(unlockedImage, x, y, unlockedW, buttonSize, null);
+                SpriteCache.draw(g2d, unlockedImage, x, y, unlockedW, buttonSize);
 
                 int margin = 8;
                 int lockedW = unlockedW - 2 * margin + 5;
@@ -207,16 +134,13 @@ public class LevelSelectScreen extends JPanel {
                 int lockedX = x + margin;
                 int lockedY = y + margin;
 
-                g2d.drawImage(lockedImage, lockedX - 3, lockedY, lockedW, lockedH, null);
+                SpriteCache.draw(g2d, lockedImage, lockedX - 3, lockedY, lockedW, lockedH);
 
                 int iconSize = 28;
-                g2d.drawImage(lockIcon,
-                        x + (unlockedW - iconSize) / 2,
-                        y + (buttonSize - iconSize) / 2,
-                        iconSize, iconSize, null);
+                SpriteCache.draw(g2d, lockIcon, x + (unlockedW - iconSize) / 2, y + (buttonSize - iconSize) / 2, iconSize, iconSize);
         } else {
                 // Draw unlocked/completed level number
-                g2d.drawImage(unlockedImage, x, y, buttonSize + 20, buttonSize, null);
+                SpriteCache.draw(g2d, unlockedImage, x, y, buttonSize + 20, buttonSize);
                 String text = String.valueOf(i + 1);
                 int textWidth = g2d.getFontMetrics().stringWidth(text);
                 g2d.setColor(Color.WHITE);
@@ -225,13 +149,8 @@ public class LevelSelectScreen extends JPanel {
             }
         }
         // Draw back button
-        g2d.drawImage(backButtonImage, backButtonRect.x, backButtonRect.y, backButtonRect.width, backButtonRect.height, null);
+        SpriteCache.draw(g2d, backButtonImage, backButtonRect.x, backButtonRect.y, backButtonRect.width, backButtonRect.height);
         drawOutlinedText(g2d, "back", backButtonRect.x + 75, backButtonRect.y + 35, font.deriveFont(20f));
-
-        // If transitioning, draw falling drip effect
-        if (transitioning) {
-            g2d.drawImage(dripImage, 0, dripY, 650, 1080, null);
-        }
     }
 
     // Helper method to draw outlined text (for readability against any background)
@@ -245,9 +164,21 @@ public class LevelSelectScreen extends JPanel {
         g2d.drawString(text, x, y);
     }
 
+    // Sets every level to locked except the first, then applies saved progress
+    public static void initLevelStatus() {
+        if (levelStatus[0] != null) return;
+        for (int i = 0; i < 40; i++) levelStatus[i] = "locked";
+        levelStatus[0] = "unlocked";
+        ProgressStore.restore();
+    }
+
     // Call this when a level is completed to unlock the next one
     public static void updateLevel(int levelCompleted) {
+        initLevelStatus();
+        if (levelCompleted < 0 || levelCompleted >= levelStatus.length) return;
         levelStatus[levelCompleted] = "completed";
-        levelStatus[levelCompleted + 1] = "unlocked";
+        if (levelCompleted + 1 < levelStatus.length && !"completed".equals(levelStatus[levelCompleted + 1])) {
+            levelStatus[levelCompleted + 1] = "unlocked";
+        }
     }
 }
\ No newline at end of file
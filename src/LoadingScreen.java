@@ -0,0 +1,56 @@
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.Supplier;
+
+// Progress screen shown while a screen's assets are decoded in the background
+public class LoadingScreen extends JPanel implements Screen {
+    // Progress reported by the asset loader
+    private int loaded = 0;
+    private int total = 1;
+
+    // Shows a screen once its assets are resident, displaying a loading screen in the meantime
+    public static void show(Container parent, String[] assets, Supplier<? extends JComponent> screen) {
+        if (Assets.isResident(assets)) {
+            ScreenManager.replace(parent, screen.get());
+            return;
+        }
+
+        LoadingScreen loading = new LoadingScreen();
+        ScreenManager.replace(parent, loading);
+        Assets.preload(assets, (done, count) -> {
+            loading.loaded = done;
+            loading.total = count;
+            loading.repaint();
+        }).whenComplete((_, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) System.out.println(error.getMessage());
+            // Only switch if nothing else replaced the loading screen in the meantime
+            if (loading.getParent() == parent) ScreenManager.replace(parent, screen.get());
+        }));
+    }
+
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        setBackground(new Color(246, 254, 254, 255));
+        Graphics2D g2d = (Graphics2D) g;
+        RenderScale.apply(g2d);
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Draw progress bar in the middle of the screen
+        int barW = 300;
+        int barH = 20;
+        int barX = (RenderScale.width() - barW) / 2;
+        int barY = RenderScale.height() / 2;
+        g2d.setColor(new Color(200, 230, 240));
+        g2d.fillRoundRect(barX, barY, barW, barH, barH, barH);
+        g2d.setColor(new Color(90, 170, 210));
+        g2d.fillRoundRect(barX, barY, barW * loaded / Math.max(1, total), barH, barH, barH);
+        g2d.setColor(Color.BLACK);
+        g2d.drawRoundRect(barX, barY, barW, barH, barH, barH);
+
+        // Draw label above the bar
+        String text = "loading...";
+        g2d.setFont(new Font("Arial", Font.BOLD, 24));
+        int textWidth = g2d.getFontMetrics().stringWidth(text);
+        g2d.drawString(text, (RenderScale.width() - textWidth) / 2, barY - 15);
+    }
+}
@@ -1,11 +1,20 @@
 import javax.swing.*;
 import javax.sound.sampled.*;
 import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Main {
     // Shared Clip instance used for playing background music or sound effects
     public static Clip clip;
+
+    // Clips opened and not yet closed, for the runtime metrics
+    static final AtomicInteger openClips = new AtomicInteger();
+
     public static void main(String[] args) {
+        // Recover saved progress before any screen is shown
+        ProgressStore.open();
+        // Publish live counters over JMX
+        GameMetrics.register();
         // Ensures that GUI creation happens on the Event Dispatch Thread
         SwingUtilities.invokeLater(() -> {
             // Creates the main game window (JFrame)
@@ -14,20 +23,34 @@ public class Main {
             frame.setSize(650, 670);
             frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
             frame.setLocationRelativeTo(null);
-            frame.setResizable(false);
-            // Loads the menu screen and adds it to the frame
-            MenuScreen menu = new MenuScreen();
-            frame.add(menu);
+            ScreenManager.install(frame);
+            // Loads the menu screen in the background and adds it to the frame
+            LoadingScreen.show(frame.getContentPane(), MenuScreen.ASSETS, MenuScreen::new);
             frame.setVisible(true);
+            // Lay screens out at the original window size and scale them as the window is resized
+            RenderScale.install(frame);
         });
     }
 
     // Plays a sound from the specified file path
     public static void playSound(String filePath, boolean loop) {
+        GameEvents.SoundPlayback event = GameEvents.SOUND.isEnabled() ? new GameEvents.SoundPlayback() : null;
+        if (event != null) {
+            event.begin();
+            event.path = filePath;
+            event.loop = loop;
+        }
         try {
             // Loads audio from the file
             AudioInputStream audioIn = AudioSystem.getAudioInputStream(new File(filePath));
             clip = AudioSystem.getClip();
+            Clip opened = clip;
+            opened.addLineListener(e -> {
+                if (e.getType() == LineEvent.Type.OPEN) openClips.incrementAndGet();
+                else if (e.getType() == LineEvent.Type.CLOSE) openClips.decrementAndGet();
+                // One-shot sounds release their line once they finish
+                else if (e.getType() == LineEvent.Type.STOP && !loop && opened.isOpen()) opened.close();
+            });
             clip.open(audioIn);
             // If loop is true, the sound will repeat continuously
             if (loop) {
@@ -37,6 +60,8 @@ public class Main {
 
         } catch (Exception e) {
             System.out.println(e.getMessage());
+        } finally {
+            if (event != null) event.commit();
         }
     }
 
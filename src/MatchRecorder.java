@@ -0,0 +1,228 @@
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Records every frame the game publishes to a compressed file, so a match can be rendered again later (see
+// FrameExporter). Enabled with -Dmatch.record=<directory>; each level played writes match-<level>-<time>.bin there.
+// The file holds a header with the level's names and sizes, then one record per frame: its time in milliseconds
+// since the level was shown, the tiles and enemy positions as a SnapshotEncoder keyframe or delta against the
+// previous record, and the rest of the FrameSnapshot the renderer needs. The event thread only encodes each frame;
+// a writer thread compresses the records and writes them out, flushing every second. Recordings still open when
+// the game quits are closed from a shutdown hook, so a recording cut off by a crash loses at most its last second.
+public class MatchRecorder {
+    static final String DIRECTORY = System.getProperty("match.record");
+
+    // Longest a written frame waits in the compressor before it is flushed to the file
+    private static final long FLUSH_MS = 1000;
+
+    // Encoded records waiting for the writer thread; when it falls this far behind, frames are skipped
+    private static final int QUEUE = 64;
+
+    // Recordings not closed yet, for the shutdown hook
+    private static final List<MatchRecorder> open = new ArrayList<>();
+    private static boolean hookAdded = false;
+
+    private static final int MAGIC = 0x4249434D;
+    private static final int VERSION = 3;
+
+    private final DataOutputStream out;
+    private final long start = System.currentTimeMillis();
+    private final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(QUEUE);
+    private final Thread writer;
+    private volatile boolean closing = false;
+    private volatile boolean failed = false;
+
+    // Encoder state, used only on the event thread
+    private SnapshotEncoder encoder;
+    private int[] entities;
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private int skipped = 0;
+
+    private MatchRecorder(DataOutputStream out, String name) {
+        this.out = out;
+        writer = new Thread(this::drain, "Match recorder " + name);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Opens a recording for a level, or returns null if recording is off or the file can't be created
+    static MatchRecorder start(int level) {
+        if (DIRECTORY == null) return null;
+        File file = new File(DIRECTORY, "match-" + level + "-" + System.currentTimeMillis() + ".bin");
+        try {
+            file.getParentFile().mkdirs();
+            // Sync flushing lets a flush push everything written so far through the compressor
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file), 1 << 16, true)));
+            MatchRecorder recorder = new MatchRecorder(out, file.getName());
+            synchronized (open) {
+                open.add(recorder);
+                if (!hookAdded) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(MatchRecorder::closeAll));
+                    hookAdded = true;
+                }
+            }
+            return recorder;
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            return null;
+        }
+    }
+
+    // Encodes a frame and queues it for the writer. If the writer is behind, the frame is skipped; since it is
+    // never acknowledged, the next frame is encoded against the last one that was queued.
+    void write(FrameSnapshot f) {
+        if (closing || failed) return;
+        try {
+            if (encoder == null) {
+                encoder = new SnapshotEncoder(f.rows, f.cols, f.rows * f.cols);
+                entities = new int[f.rows * f.cols * SnapshotEncoder.ENTITY_STRIDE];
+                record.reset();
+                recordOut.writeInt(MAGIC);
+                recordOut.writeInt(VERSION);
+                recordOut.writeShort(f.rows);
+                recordOut.writeShort(f.cols);
+                recordOut.writeShort(f.tileSize);
+                recordOut.writeUTF(f.player1);
+                recordOut.writeUTF(f.player2);
+                recordOut.writeUTF(f.fruitA == null ? "" : f.fruitA);
+                recordOut.writeUTF(f.fruitB == null ? "" : f.fruitB);
+                queue.put(record.toByteArray());
+            }
+
+            byte[] state = encoder.encode(f.tiles, entities, f.putEntities(entities));
+            record.reset();
+            recordOut.writeInt(0);
+            recordOut.writeInt((int) (System.currentTimeMillis() - start));
+            recordOut.writeInt(state.length);
+            recordOut.write(state);
+            f.writeExtras(recordOut);
+            byte[] bytes = record.toByteArray();
+
+            // Each record starts with its length, so a reader never applies half of one
+            ByteBuffer.wrap(bytes).putInt(0, bytes.length - 4);
+            if (queue.offer(bytes)) encoder.acknowledge(ByteBuffer.wrap(state).getInt(0));
+            else skipped++;
+        } catch (IOException | InterruptedException e) {
+            System.out.println(e.getMessage());
+            failed = true;
+        }
+    }
+
+    // Writer thread: compresses and writes queued records until the recording is closed and the queue is empty
+    private void drain() {
+        long lastFlush = System.currentTimeMillis();
+        boolean unflushed = false;
+        try {
+            while (!closing || !queue.isEmpty()) {
+                byte[] bytes = queue.poll(FLUSH_MS, TimeUnit.MILLISECONDS);
+                if (bytes != null) {
+                    out.write(bytes);
+                    unflushed = true;
+                }
+                long now = System.currentTimeMillis();
+                if (unflushed && now - lastFlush >= FLUSH_MS) {
+                    out.flush();
+                    lastFlush = now;
+                    unflushed = false;
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            System.out.println(e.getMessage());
+            failed = true;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    // Writes out the queued frames and finishes the file; called when the level is left and from the shutdown hook
+    void close() {
+        synchronized (open) {
+            if (!open.remove(this)) return;
+        }
+        closing = true;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            System.out.println(e.getMessage());
+        }
+        if (skipped > 0) System.out.println("Match recording skipped " + skipped + " frames");
+    }
+
+    // Closes every recording still open as the game quits
+    private static void closeAll() {
+        MatchRecorder[] recorders;
+        synchronized (open) {
+            recorders = open.toArray(new MatchRecorder[0]);
+        }
+        for (MatchRecorder recorder : recorders) recorder.close();
+    }
+
+    // Reads a recording back one frame at a time
+    static class Reader implements Closeable {
+        private final DataInputStream in;
+        private final SnapshotDecoder decoder = new SnapshotDecoder();
+        final int rows, cols, tileSize;
+        final String player1, player2, fruitA, fruitB;
+
+        Reader(File file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file), 1 << 16)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                in.close();
+                throw new IOException(file + " is not a match recording");
+            }
+            rows = in.readShort();
+            cols = in.readShort();
+            tileSize = in.readShort();
+            player1 = in.readUTF();
+            player2 = in.readUTF();
+            String a = in.readUTF(), b = in.readUTF();
+            fruitA = a.isEmpty() ? null : a;
+            fruitB = b.isEmpty() ? null : b;
+        }
+
+        // A snapshot sized for this recording with its names filled in
+        FrameSnapshot snapshot() {
+            FrameSnapshot f = new FrameSnapshot(rows, cols, tileSize);
+            f.player1 = player1;
+            f.player2 = player2;
+            f.fruitA = fruitA;
+            f.fruitB = fruitB;
+            return f;
+        }
+
+        // Reads the next frame into a snapshot and returns its time, or -1 at the end of the recording. A recording
+        // that was cut off ends at its last whole frame.
+        int next(FrameSnapshot f) throws IOException {
+            byte[] bytes;
+            try {
+                bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+            } catch (EOFException e) {
+                return -1;
+            }
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(bytes));
+            int time = record.readInt();
+            byte[] state = new byte[record.readInt()];
+            record.readFully(state);
+            if (decoder.decode(state) < 0) throw new IOException("Match recording has a frame without its baseline");
+            f.readDecoded(decoder);
+            f.readExtras(record);
+            return time;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,270 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// Computer player that drives one of the two ice creams through the same PlayerInput the keyboard feeds. Before
+// each move it runs a Monte Carlo tree search over copies of a BotWorld captured from the game: every worker
+// thread grows its own tree from the same state until the move's time budget runs out, and the move the workers
+// visited most in total is tapped into the input. The search runs on its own pool and the movement tick only
+// checks whether it has finished, so the game never waits for the bot.
+public class MctsBot {
+    // Player the bot drives (-Dbot.player=1 or 2, 0 for none), and milliseconds of search per move
+    static final int PLAYER = Integer.getInteger("bot.player", 0);
+    static final long BUDGET_MILLIS = Long.getLong("bot.budgetMillis", 100);
+
+    // Worker threads, leaving a core for the game
+    private static final int THREADS = Integer.getInteger("bot.threads", Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    private static final ForkJoinPool POOL = new ForkJoinPool(THREADS);
+
+    // Moves the bot chooses between: the four directions, using ice, and standing still
+    static final int[] ACTIONS = {PlayerInput.LEFT, PlayerInput.RIGHT, PlayerInput.UP, PlayerInput.DOWN, PlayerInput.ACTION, 0};
+
+    // Moves looked ahead from the captured state, through the tree and the random playout (under two seconds of play)
+    private static final int HORIZON = 12;
+
+    // Playout moves out of 16 that head for the nearest fruit (the rest are random)
+    private static final int GREEDY = 14;
+
+    // Tree nodes per worker, and the exploration weight in the UCB1 formula
+    private static final int NODES = 1 << 16;
+    private static final double EXPLORATION = 0.1;
+
+    private final PlayerInput input;
+
+    // State the next search starts from, filled in by the game before start
+    private final BotWorld root;
+
+    private final Worker[] workers;
+    private final Search search = new Search();
+    private boolean searching = false;
+
+    // Searches run and playouts across all of them, for reporting
+    long searches, playouts;
+
+    public MctsBot(int rows, int cols, int player, PlayerInput input) {
+        this.input = input;
+        root = new BotWorld(rows, cols, player);
+        workers = new Worker[THREADS];
+        for (int i = 0; i < THREADS; i++) workers[i] = new Worker(rows, cols, player, i);
+    }
+
+    // State to fill in before start (only while the bot is idle)
+    BotWorld root() {
+        return root;
+    }
+
+    // True when no search is running and the last move has been taken from the input
+    boolean idle() {
+        return !searching && !input.hasPendingEvents();
+    }
+
+    // Starts searching from the root state in the background
+    void start(long budgetMillis) {
+        search.deadline = System.nanoTime() + budgetMillis * 1_000_000;
+        search.reinitialize();
+        searching = true;
+        POOL.execute(search);
+    }
+
+    // Taps the chosen move into the input once the search has finished; called on every movement tick
+    void poll(long when) {
+        if (!searching || !search.isDone()) return;
+        searching = false;
+        searches++;
+        if (ACTIONS[search.choice] != 0) input.tap(ACTIONS[search.choice], when);
+    }
+
+    // Runs every worker until the deadline, then sums their root statistics and picks the most visited move
+    private class Search extends RecursiveAction {
+        long deadline;
+        int choice;
+
+        @Override
+        protected void compute() {
+            for (Worker worker : workers) {
+                worker.reinitialize();
+                worker.deadline = deadline;
+            }
+            ForkJoinTask.invokeAll(workers);
+            int best = ACTIONS.length - 1;
+            long bestVisits = -1;
+            for (int a = 0; a < ACTIONS.length; a++) {
+                long visits = 0;
+                for (Worker worker : workers) visits += worker.rootVisits(a);
+                if (visits > bestVisits) {
+                    best = a;
+                    bestVisits = visits;
+                }
+            }
+            for (Worker worker : workers) playouts += worker.playouts;
+            choice = best;
+        }
+    }
+
+    // One thread's search tree, in flat arrays reused between moves. A node's children are stored together, one
+    // per action, starting at its child index (-1 until it is expanded).
+    private class Worker extends RecursiveAction {
+        long deadline;
+        long playouts;
+
+        private final BotWorld world;
+        private final int[] child = new int[NODES], visits = new int[NODES];
+        private final double[] value = new double[NODES];
+        private final int[] path = new int[HORIZON + 1];
+        private int nodes;
+        private int rng;
+
+        Worker(int rows, int cols, int player, int index) {
+            world = new BotWorld(rows, cols, player);
+            rng = (index + 1) * 0x9E3779B9 | 1;
+        }
+
+        @Override
+        protected void compute() {
+            nodes = 1;
+            child[0] = -1;
+            visits[0] = 0;
+            value[0] = 0;
+            playouts = 0;
+            do {
+                playout();
+            } while (System.nanoTime() < deadline);
+        }
+
+        // Visits of the root's child for an action
+        int rootVisits(int a) {
+            return child[0] < 0 ? 0 : visits[child[0] + a];
+        }
+
+        // Selects down the tree, expands one node, plays randomly to the horizon and backs the result up
+        private void playout() {
+            world.copyFrom(root);
+            int node = 0, depth = 0;
+            path[depth++] = 0;
+            while (child[node] >= 0 && !world.over()) {
+                int a = select(node);
+                node = child[node] + a;
+                world.step(ACTIONS[a]);
+                path[depth++] = node;
+            }
+            if (!world.over() && visits[node] > 0 && nodes + ACTIONS.length <= NODES && depth < HORIZON) {
+                child[node] = nodes;
+                for (int a = 0; a < ACTIONS.length; a++) {
+                    child[nodes + a] = -1;
+                    visits[nodes + a] = 0;
+                    value[nodes + a] = 0;
+                }
+                nodes += ACTIONS.length;
+                int a = random() % ACTIONS.length;
+                node = child[node] + a;
+                world.step(ACTIONS[a]);
+                path[depth++] = node;
+            }
+            for (int k = depth; k < HORIZON && !world.over(); k++) world.step(rolloutAction());
+            double result = world.evaluate();
+            for (int k = 0; k < depth; k++) {
+                visits[path[k]]++;
+                value[path[k]] += result;
+            }
+            playouts++;
+        }
+
+        // Child with the best UCB1 score, trying unvisited children first
+        private int select(int node) {
+            int first = child[node];
+            int offset = random() % ACTIONS.length;
+            double logN = Math.log(visits[node]);
+            int best = 0;
+            double bestScore = -1;
+            for (int k = 0; k < ACTIONS.length; k++) {
+                int a = (offset + k) % ACTIONS.length;
+                int n = visits[first + a];
+                if (n == 0) return a;
+                double score = value[first + a] / n + EXPLORATION * Math.sqrt(logN / n);
+                if (score > bestScore) {
+                    best = a;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        // Playout move: usually the way to the nearest fruit, otherwise a random one
+        private int rolloutAction() {
+            int r = random() & 15;
+            if (r < GREEDY) return world.towardFruit();
+            return ACTIONS[r % ACTIONS.length];
+        }
+
+        private int random() {
+            rng ^= rng << 13;
+            rng ^= rng >>> 17;
+            rng ^= rng << 5;
+            return rng & Integer.MAX_VALUE;
+        }
+    }
+
+    // Headless level test, e.g. "java MctsBot level1.txt 5 20" lets the bot play level 1 alone five times with
+    // 20 ms per move against the bot's model of the enemies, and exits with 1 if it never cleared the level
+    public static void main(String[] args) throws FileNotFoundException {
+        if (args.length < 1) {
+            System.out.println("Usage: java MctsBot <level.txt> [games] [millis per move]");
+            return;
+        }
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long millis = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        int[][] map = LevelPack.readText(new File(args[0]), 18, 18);
+        int rows = map.length, cols = map[0].length;
+
+        // Moves in a two minute level
+        int maxMoves = 2 * 60 * 1000 / (BotWorld.TICKS_PER_MOVE * EnemySystem.TICK_MS);
+        int cleared = 0;
+        for (int game = 1; game <= games; game++) {
+            EnemySystem enemies = new EnemySystem(rows, cols, 35);
+            enemies.clear();
+            Ice.reset(rows, cols);
+            int fruitA = 0, fruitB = 0, spawnCol = 0, spawnRow = 0;
+            for (int r = 0; r < rows; r++) {
+                for (int c = 0; c < cols; c++) {
+                    int tile = map[r][c];
+                    if (tile / 10 == 3 && EnemyTypes.isDefined(tile % 10)) enemies.add(tile % 10, c, r);
+                    if (tile / 100 == 5 && tile % 10 == 0) fruitA++;
+                    if (tile / 100 == 5 && tile % 10 == 1) fruitB++;
+                    if (tile == 40) {
+                        spawnCol = c;
+                        spawnRow = r;
+                    }
+                }
+            }
+
+            // The bot plays as player 1 with player 2 out of the game
+            MctsBot bot = new MctsBot(rows, cols, 0, new PlayerInput(0, 0, 0, 0, 0));
+            BotWorld world = new BotWorld(rows, cols, 0);
+            world.capture(map, new int[rows][cols], enemies, fruitA, fruitB);
+            world.setPlayer(0, spawnCol, spawnRow, EnemySystem.DOWN, true);
+            world.setPlayer(1, 0, 0, EnemySystem.DOWN, false);
+            world.rng = game;
+
+            int moves = 0;
+            long start = System.nanoTime();
+            for (; moves < maxMoves && !world.over(); moves++) {
+                bot.root.copyFrom(world);
+                bot.root.rebase();
+                bot.search.deadline = System.nanoTime() + millis * 1_000_000;
+                bot.search.reinitialize();
+                POOL.invoke(bot.search);
+                world.step(ACTIONS[bot.search.choice]);
+            }
+            String outcome = world.cleared() ? "cleared" : world.playerAlive[0] ? "out of time" : "caught";
+            int total = fruitA + fruitB, left = world.fruitA + world.fruitB;
+            if (world.cleared()) cleared++;
+            System.out.println(args[0] + " game " + game + ": " + outcome + " after " + moves + " moves, " + (total - left)
+                    + "/" + total + " fruit, " + bot.playouts / Math.max(1, moves) + " playouts per move ("
+                    + (System.nanoTime() - start) / 1_000_000 + " ms)");
+        }
+        System.out.println(cleared + "/" + games + " games cleared");
+        if (cleared == 0) System.exit(1);
+    }
+}
@@ -0,0 +1,119 @@
+// Keyboard state for one player: a bitset of held actions plus a ring buffer of timestamped press/release events
+public class PlayerInput {
+    // Action bits, in the priority order used by the movement tick
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+    public static final int UP = 4;
+    public static final int DOWN = 8;
+    public static final int ACTION = 16;
+
+    // Size of the event ring buffer (must be a power of two)
+    private static final int CAPACITY = 64;
+
+    // Key codes bound to each action bit, in bit order
+    private final int[] bindings;
+
+    // Bitset of actions whose keys are currently held down
+    private int held = 0;
+
+    // Ring buffer of events stored as primitive arrays so key events never allocate
+    private final int[] eventAction = new int[CAPACITY];
+    private final boolean[] eventPressed = new boolean[CAPACITY];
+    private final long[] eventTime = new long[CAPACITY];
+    private int readIndex = 0;
+    private int writeIndex = 0;
+
+    // Presses that were pushed out of a full buffer, so they are still seen by the next tick
+    private int overflowPressed = 0;
+
+    // Timestamp of the earliest press handled by the last consume call (0 if none)
+    private long lastPressTime = 0;
+
+    public PlayerInput(int leftKey, int rightKey, int upKey, int downKey, int actionKey) {
+        bindings = new int[]{leftKey, rightKey, upKey, downKey, actionKey};
+    }
+
+    // Returns the action bit bound to a key code, or 0 if the key isn't used by this player
+    private int actionFor(int keyCode) {
+        for (int i = 0; i < bindings.length; i++) {
+            if (bindings[i] == keyCode) return 1 << i;
+        }
+        return 0;
+    }
+
+    // Records a key press, returns true if it is a new press of one of this player's keys
+    public boolean keyPressed(int keyCode, long when) {
+        int action = actionFor(keyCode);
+        // Ignore unbound keys and auto-repeat of a key that is already held
+        if (action == 0 || (held & action) != 0) return false;
+        held |= action;
+        push(action, true, when);
+        return true;
+    }
+
+    // Records a key release
+    public void keyReleased(int keyCode, long when) {
+        int action = actionFor(keyCode);
+        if (action == 0) return;
+        held &= ~action;
+        push(action, false, when);
+    }
+
+    // Presses and releases actions straight away, for controllers that aren't a keyboard (the next consume still sees them)
+    public void tap(int actions, long when) {
+        for (int action = LEFT; action <= ACTION; action <<= 1) {
+            if ((actions & action) == 0) continue;
+            push(action, true, when);
+            push(action, false, when);
+        }
+    }
+
+    // Appends an event, dropping the oldest one if the buffer is full
+    private void push(int action, boolean pressed, long when) {
+        if (writeIndex - readIndex == CAPACITY) {
+            int oldest = readIndex & (CAPACITY - 1);
+            if (eventPressed[oldest]) overflowPressed |= eventAction[oldest];
+            readIndex++;
+        }
+        int slot = writeIndex & (CAPACITY - 1);
+        eventAction[slot] = action;
+        eventPressed[slot] = pressed;
+        eventTime[slot] = when;
+        writeIndex++;
+    }
+
+    // Drains buffered events and returns every action that is held or was tapped since the last call
+    public int consume() {
+        int actions = held | overflowPressed;
+        overflowPressed = 0;
+        lastPressTime = 0;
+
+        while (readIndex != writeIndex) {
+            int slot = readIndex & (CAPACITY - 1);
+            if (eventPressed[slot]) {
+                actions |= eventAction[slot];
+                if (lastPressTime == 0) lastPressTime = eventTime[slot];
+            }
+            readIndex++;
+        }
+        return actions;
+    }
+
+    // Returns the timestamp of the earliest press handled by the last consume call (0 if none)
+    public long lastPressTime() {
+        return lastPressTime;
+    }
+
+    // Returns true if any buffered event hasn't been consumed yet
+    public boolean hasPendingEvents() {
+        return readIndex != writeIndex || overflowPressed != 0;
+    }
+
+    // Clears held keys and pending events
+    public void clear() {
+        held = 0;
+        overflowPressed = 0;
+        readIndex = writeIndex;
+        lastPressTime = 0;
+    }
+}
@@ -0,0 +1,320 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Saves level progress and match results: an append-only journal plus a compacted snapshot replaced atomically.
+// All disk writes run on one background writer thread so the game never waits on an fsync; the leaderboards
+// queue their work on the same thread.
+public class ProgressStore {
+    // Save files, relative to the working directory like the level files
+    static final Path SNAPSHOT = Paths.get("progress.snapshot");
+    static final Path SNAPSHOT_TMP = Paths.get("progress.snapshot.tmp");
+    static final Path JOURNAL = Paths.get("progress.journal");
+
+    private static final int SNAPSHOT_MAGIC = 0x42494353;
+    private static final int LEVELS = 40;
+
+    // Journal records between compactions, records per fsync, and the longest a record waits for fsync
+    private static final int COMPACT_THRESHOLD = 256;
+    private static final int FSYNC_BATCH = 8;
+    private static final long FSYNC_DELAY_MS = 1000;
+
+    // Aggregated state per level, rebuilt from the snapshot and journal at startup
+    private static final int[] plays = new int[LEVELS];
+    private static final int[] clears = new int[LEVELS];
+    private static final int[] bestScore = new int[LEVELS];
+    private static final long[] bestTimeMs = new long[LEVELS];
+    private static final String[] bestFlavour1 = new String[LEVELS];
+    private static final String[] bestFlavour2 = new String[LEVELS];
+
+    // Sequence number of the last applied record, so records already in the snapshot are skipped on replay
+    private static long lastSequence = 0;
+
+    // Open journal and records written since the last fsync / compaction
+    private static FileChannel journal;
+    private static int unsynced = 0;
+    private static int journalRecords = 0;
+    private static boolean opened = false;
+
+    // Background thread that appends records, compacts and fsyncs in batches
+    private static final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "progress-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // Flushes run on the writer every FSYNC_DELAY_MS and once more at exit, after the queued writes
+    private static final List<Runnable> flushes = new CopyOnWriteArrayList<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ProgressStore::shutdown));
+    }
+
+    // Recovers saved progress, called once at startup
+    public static synchronized void open() {
+        if (opened) return;
+        opened = true;
+        try {
+            readSnapshot();
+            replayJournal();
+            journal = FileChannel.open(JOURNAL, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            addFlush(ProgressStore::sync);
+        } catch (IOException e) {
+            System.out.println("Progress could not be loaded: " + e.getMessage());
+        }
+    }
+
+    // Queues the result of a finished match to be appended to the journal
+    public static void recordResult(int level, String flavour1, String flavour2, int score1, int score2, long timeMs, boolean cleared) {
+        open();
+        submit(() -> append(level, flavour1, flavour2, score1, score2, timeMs, cleared));
+    }
+
+    // Runs save work on the writer thread, after everything queued before it (or right away once the game is exiting)
+    static void submit(Runnable task) {
+        try {
+            writer.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    // Runs a flush on the writer thread every FSYNC_DELAY_MS, and once more when the game exits
+    static void addFlush(Runnable flush) {
+        flushes.add(flush);
+        try {
+            writer.scheduleWithFixedDelay(flush, FSYNC_DELAY_MS, FSYNC_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Already exiting; the final flush still runs
+        }
+    }
+
+    // Finishes the queued writes and runs every flush as the game exits
+    private static void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Runnable flush : flushes) flush.run();
+    }
+
+    // Applies a result and appends it to the journal, on the writer thread
+    private static synchronized void append(int level, String flavour1, String flavour2, int score1, int score2, long timeMs, boolean cleared) {
+        if (level < 0 || level >= LEVELS) return;
+        long sequence = lastSequence + 1;
+        apply(sequence, level, flavour1, flavour2, score1, score2, timeMs, cleared);
+        if (journal == null) return;
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(sequence);
+            out.writeInt(level);
+            out.writeUTF(flavour1 != null ? flavour1 : "");
+            out.writeUTF(flavour2 != null ? flavour2 : "");
+            out.writeInt(score1);
+            out.writeInt(score2);
+            out.writeLong(timeMs);
+            out.writeBoolean(cleared);
+            byte[] payload = bytes.toByteArray();
+
+            // Record framing: length, payload, CRC32 of the payload (a torn tail fails the check on replay)
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            ByteBuffer record = ByteBuffer.allocate(payload.length + 8);
+            record.putInt(payload.length).put(payload).putInt((int) crc.getValue()).flip();
+            while (record.hasRemaining()) journal.write(record);
+
+            journalRecords++;
+            if (++unsynced >= FSYNC_BATCH) sync();
+            if (journalRecords >= COMPACT_THRESHOLD) compact();
+        } catch (IOException e) {
+            System.out.println("Progress could not be saved: " + e.getMessage());
+        }
+    }
+
+    // Returns true if the level has been cleared at least once
+    public static synchronized boolean isCleared(int level) {
+        return level >= 0 && level < LEVELS && clears[level] > 0;
+    }
+
+    // Returns the best combined score recorded for a level (0 if none)
+    public static synchronized int bestScore(int level) {
+        return level >= 0 && level < LEVELS ? bestScore[level] : 0;
+    }
+
+    // Applies saved progress to the level selection screen
+    public static synchronized void restore() {
+        open();
+        for (int level = 0; level < LEVELS; level++) {
+            if (clears[level] > 0) LevelSelectScreen.updateLevel(level);
+        }
+    }
+
+    // Flushes pending journal records to disk
+    static synchronized void sync() {
+        if (journal == null || unsynced == 0) return;
+        try {
+            journal.force(false);
+            unsynced = 0;
+        } catch (IOException e) {
+            System.out.println("Progress could not be synced: " + e.getMessage());
+        }
+    }
+
+    // Updates the aggregated state with one result
+    private static void apply(long sequence, int level, String flavour1, String flavour2, int score1, int score2, long timeMs, boolean cleared) {
+        lastSequence = sequence;
+        if (level < 0 || level >= LEVELS) return;
+        plays[level]++;
+        if (!cleared) return;
+        clears[level]++;
+        int combined = score1 + score2;
+        if (combined > bestScore[level]) {
+            bestScore[level] = combined;
+            bestFlavour1[level] = flavour1;
+            bestFlavour2[level] = flavour2;
+        }
+        if (bestTimeMs[level] == 0 || timeMs < bestTimeMs[level]) bestTimeMs[level] = timeMs;
+    }
+
+    // Writes the aggregated state to a temporary file, fsyncs it, renames it over the snapshot, fsyncs the directory
+    // and truncates the journal
+    private static void compact() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeLong(lastSequence);
+        out.writeInt(LEVELS);
+        for (int level = 0; level < LEVELS; level++) {
+            out.writeInt(plays[level]);
+            out.writeInt(clears[level]);
+            out.writeInt(bestScore[level]);
+            out.writeLong(bestTimeMs[level]);
+            out.writeUTF(bestFlavour1[level] != null ? bestFlavour1[level] : "");
+            out.writeUTF(bestFlavour2[level] != null ? bestFlavour2[level] : "");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        out.writeInt((int) crc.getValue());
+
+        try (FileChannel tmp = FileChannel.open(SNAPSHOT_TMP, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) tmp.write(buffer);
+            tmp.force(true);
+        }
+        Files.move(SNAPSHOT_TMP, SNAPSHOT, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        // The rename only survives a power loss once the directory entry is on disk; without this the truncation
+        // below could reach the disk first and leave the old snapshot next to an empty journal
+        syncDirectory(SNAPSHOT);
+
+        // Records up to lastSequence are now in the snapshot, so a crash before truncation only replays skipped records
+        journal.truncate(0);
+        journal.force(true);
+        journalRecords = 0;
+        unsynced = 0;
+    }
+
+    // Fsyncs the directory holding a file so a rename into it is durable. Windows can't open a directory as a
+    // channel, but NTFS journals the rename before later writes to the file anyway.
+    private static void syncDirectory(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    // Loads the compacted state, ignoring a missing or damaged snapshot
+    private static void readSnapshot() throws IOException {
+        if (!Files.exists(SNAPSHOT)) return;
+        byte[] data = Files.readAllBytes(SNAPSHOT);
+        if (data.length < 4) return;
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        if ((int) crc.getValue() != ByteBuffer.wrap(data, data.length - 4, 4).getInt()) {
+            System.out.println("Ignoring damaged progress snapshot");
+            return;
+        }
+
+        DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(data));
+        if (in.readInt() != SNAPSHOT_MAGIC) return;
+        lastSequence = in.readLong();
+        int levels = Math.min(in.readInt(), LEVELS);
+        for (int level = 0; level < levels; level++) {
+            plays[level] = in.readInt();
+            clears[level] = in.readInt();
+            bestScore[level] = in.readInt();
+            bestTimeMs[level] = in.readLong();
+            bestFlavour1[level] = in.readUTF();
+            bestFlavour2[level] = in.readUTF();
+        }
+    }
+
+    // Replays journal records newer than the snapshot, cutting off a torn or corrupt tail
+    private static void replayJournal() throws IOException {
+        if (!Files.exists(JOURNAL)) return;
+        byte[] data = Files.readAllBytes(JOURNAL);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        int validLength = 0;
+
+        while (buffer.remaining() >= 4) {
+            int length = buffer.getInt();
+            if (length <= 0 || buffer.remaining() < length + 4) break;
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != buffer.getInt()) break;
+
+            try {
+                DataInputStream in = new DataInputStream(new java.io.ByteArrayInputStream(payload));
+                long sequence = in.readLong();
+                int level = in.readInt();
+                String flavour1 = in.readUTF();
+                String flavour2 = in.readUTF();
+                int score1 = in.readInt();
+                int score2 = in.readInt();
+                long timeMs = in.readLong();
+                boolean cleared = in.readBoolean();
+                if (sequence > lastSequence) apply(sequence, level, flavour1, flavour2, score1, score2, timeMs, cleared);
+            } catch (EOFException e) {
+                break;
+            }
+            validLength = buffer.position();
+            journalRecords++;
+        }
+
+        // Drop a partially written record so new records aren't appended after garbage
+        if (validLength < data.length) {
+            try (FileChannel channel = FileChannel.open(JOURNAL, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+                channel.force(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// How game frames get their pixels. Sprites reach the backend from SpriteCache already scaled to their size on
+// screen, so a backend only has to copy them into place; text and shapes are always drawn with Java2D on the
+// graphics returned by begin. Picked once at start-up with -Drender.backend=java2d (the default) or software.
+public interface RenderBackend {
+    RenderBackend CURRENT = "software".equals(System.getProperty("render.backend")) ? new SoftwareBackend() : new Java2DBackend();
+
+    // Creates an opaque image to render frames into
+    BufferedImage createFrame(int width, int height);
+
+    // Starts drawing a frame into an image created by createFrame
+    Graphics2D begin(BufferedImage frame);
+
+    // Draws a sprite unscaled with its top left corner at a position in device pixels
+    void blit(Graphics2D g, BufferedImage sprite, int x, int y);
+
+    // Finishes the frame and releases the graphics from begin
+    void end(Graphics2D g);
+}
@@ -0,0 +1,79 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+
+// Maps the fixed logical layout every screen is drawn in onto the current window size
+public class RenderScale {
+    // Logical size of the play area, captured from the window at its original size
+    private static int baseWidth = 634, baseHeight = 631;
+
+    // Current uniform scale and the letterbox offsets that centre the scaled area
+    private static double scale = 1;
+    private static int offsetX = 0, offsetY = 0;
+
+    // Makes the window resizable and rescales whenever its content area changes size
+    public static void install(JFrame frame) {
+        Container content = frame.getContentPane();
+        if (content.getWidth() > 0 && content.getHeight() > 0) {
+            baseWidth = content.getWidth();
+            baseHeight = content.getHeight();
+        }
+        frame.setMinimumSize(new Dimension(frame.getWidth() / 2, frame.getHeight() / 2));
+        frame.setResizable(true);
+        content.addComponentListener(new ComponentAdapter() {
+            public void componentResized(ComponentEvent e) {
+                resize(content.getWidth(), content.getHeight());
+                content.repaint();
+            }
+        });
+    }
+
+    // Recomputes the scale for a content area, dropping sprites cached for the old scale
+    public static void resize(int width, int height) {
+        double next = Math.min(width / (double) baseWidth, height / (double) baseHeight);
+        if (next <= 0) return;
+        offsetX = (width - (int) Math.round(baseWidth * next)) / 2;
+        offsetY = (height - (int) Math.round(baseHeight * next)) / 2;
+        if (next != scale) SpriteCache.clear();
+        scale = next;
+    }
+
+    // Switches a screen's graphics from window pixels to logical coordinates
+    public static void apply(Graphics2D g) {
+        g.translate(offsetX, offsetY);
+        g.scale(scale, scale);
+    }
+
+    // Converts a mouse position in window pixels to logical coordinates
+    public static Point toLogical(Point p) {
+        return new Point((int) Math.floor((p.x - offsetX) / scale), (int) Math.floor((p.y - offsetY) / scale));
+    }
+
+    // Converts a logical y coordinate to window pixels
+    public static int toDeviceY(int y) {
+        return offsetY + (int) Math.round(y * scale);
+    }
+
+    // Logical size screens lay themselves out in
+    public static int width() {
+        return baseWidth;
+    }
+
+    public static int height() {
+        return baseHeight;
+    }
+
+    public static double scale() {
+        return scale;
+    }
+
+    // Letterbox offsets in window pixels, for drawing off the event thread with the same scaling as apply
+    public static int offsetX() {
+        return offsetX;
+    }
+
+    public static int offsetY() {
+        return offsetY;
+    }
+}
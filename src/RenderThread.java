@@ -0,0 +1,73 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.locks.LockSupport;
+
+// Draws game frames on its own thread so painting never holds up input handling on the event thread. The game
+// publishes FrameSnapshots into one triple buffer and wakes this thread; it draws the newest snapshot into an
+// offscreen image and publishes that through a second triple buffer, then asks Swing to repaint. The panel's
+// paintComponent only copies the newest finished image to the screen.
+public class RenderThread extends Thread {
+    private final JComponent panel;
+    private final GameRenderer renderer;
+    private final TripleBuffer<FrameSnapshot> snapshots;
+    private final TripleBuffer<BufferedImage> images = new TripleBuffer<>(null, null, null);
+    private volatile boolean running = true;
+
+    public RenderThread(JComponent panel, GameRenderer renderer, TripleBuffer<FrameSnapshot> snapshots) {
+        super("Game renderer");
+        setDaemon(true);
+        this.panel = panel;
+        this.renderer = renderer;
+        this.snapshots = snapshots;
+    }
+
+    // Called by the game after publishing a snapshot
+    public void wake() {
+        LockSupport.unpark(this);
+    }
+
+    // Stops the thread after the frame it is drawing
+    public void finish() {
+        running = false;
+        LockSupport.unpark(this);
+    }
+
+    // Newest finished frame for the event thread to paint (null until the first one is drawn)
+    public BufferedImage latest() {
+        return images.acquire();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            // Sleep until a snapshot newer than the last one drawn is published (an earlier wake leaves a permit)
+            if (!snapshots.fresh()) {
+                LockSupport.park(this);
+                continue;
+            }
+            FrameSnapshot frame = snapshots.acquire();
+            if (frame.width <= 0 || frame.height <= 0) continue;
+            long start = System.nanoTime();
+
+            // Draw into the back image, replacing it when the window has changed size
+            BufferedImage image = images.back();
+            if (image == null || image.getWidth() != frame.width || image.getHeight() != frame.height) {
+                image = RenderBackend.CURRENT.createFrame(frame.width, frame.height);
+                images.setBack(image);
+            }
+            Graphics2D g = RenderBackend.CURRENT.begin(image);
+            try {
+                renderer.draw(g, frame);
+            } catch (RuntimeException e) {
+                // Keep drawing later frames; the exception itself names its type when it has no message (e.g. an NPE)
+                System.out.println("Render failed: " + e);
+            } finally {
+                RenderBackend.CURRENT.end(g);
+            }
+            images.publish();
+            GameMetrics.frame(start, System.nanoTime() - start);
+            panel.repaint();
+        }
+    }
+}
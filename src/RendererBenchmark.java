@@ -0,0 +1,99 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+
+// Compares the render backends on the sprite work of a game frame, e.g. "java RendererBenchmark level1.txt 500 2"
+// draws level 1 at twice the normal size 500 times with each backend and prints the frame times. Both draw the
+// same pre-scaled sprites; the game's images are used when they are present, otherwise generated ones with soft
+// edges. Exits with 1 if the two backends' frames differ by more than rounding.
+public class RendererBenchmark {
+    private static final int TILE_SIZE = 35;
+
+    // Largest difference in any colour channel allowed between the two backends
+    private static final int TOLERANCE = 2;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        if (args.length < 1) {
+            System.out.println("Usage: java RendererBenchmark <level.txt> [frames] [scale]");
+            return;
+        }
+        int frames = args.length > 1 ? Integer.parseInt(args[1]) : 300;
+        double scale = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+        int[][] map = LevelPack.readText(new File(args[0]), 18, 18);
+        int size = (int) Math.round(TILE_SIZE * scale);
+        int width = size * map[0].length, height = size * map.length;
+
+        // One sprite per kind of tile, already scaled to its size on screen
+        BufferedImage wall = sprite("../graphics/images/map/buildings/blue_box.png", new Color(60, 110, 200), size, false);
+        BufferedImage ice = sprite("../graphics/images/map/ice/ice10.png", new Color(170, 220, 255, 200), size, true);
+        BufferedImage fruit = sprite("../graphics/images/fruit/banana_consumed_display.png", new Color(250, 220, 60), size, true);
+        BufferedImage enemy = sprite("../graphics/images/map/buildings/snowman.png", new Color(120, 200, 90), size, true);
+        BufferedImage player = sprite("../graphics/images/fruit/grapes_consumed_display.png", new Color(250, 250, 230), size, true);
+        BufferedImage[] byType = {wall, wall, ice, enemy, player, fruit, null, wall};
+
+        RenderBackend[] backends = {new Java2DBackend(), new SoftwareBackend()};
+        String[] names = {"java2d", "software"};
+        int[][] pixels = new int[backends.length][];
+        for (int b = 0; b < backends.length; b++) {
+            RenderBackend backend = backends[b];
+            BufferedImage frame = backend.createFrame(width, height);
+            long[] times = new long[frames];
+
+            // Warm up, then time each frame
+            for (int i = 0; i < frames / 2; i++) drawFrame(backend, frame, map, byType, size);
+            for (int i = 0; i < frames; i++) {
+                long start = System.nanoTime();
+                drawFrame(backend, frame, map, byType, size);
+                times[i] = System.nanoTime() - start;
+            }
+            Arrays.sort(times);
+            long total = 0;
+            for (long t : times) total += t;
+            System.out.printf("%-8s %dx%d  mean %.3f ms  p50 %.3f ms  p99 %.3f ms  max %.3f ms%n", names[b], width, height,
+                    total / 1e6 / frames, times[frames / 2] / 1e6, times[frames * 99 / 100] / 1e6, times[frames - 1] / 1e6);
+            pixels[b] = frame.getRGB(0, 0, width, height, null, 0, width);
+        }
+
+        int difference = 0;
+        for (int i = 0; i < pixels[0].length; i++) {
+            for (int shift = 0; shift < 24; shift += 8) {
+                int d = Math.abs((pixels[0][i] >> shift & 0xFF) - (pixels[1][i] >> shift & 0xFF));
+                difference = Math.max(difference, d);
+            }
+        }
+        System.out.println("largest channel difference between backends: " + difference);
+        if (difference > TOLERANCE) System.exit(1);
+    }
+
+    // Draws the background and every tile's sprite, as the game does for the map
+    private static void drawFrame(RenderBackend backend, BufferedImage frame, int[][] map, BufferedImage[] byType, int size) {
+        Graphics2D g = backend.begin(frame);
+        g.setColor(new Color(246, 254, 254));
+        g.fillRect(0, 0, frame.getWidth(), frame.getHeight());
+        for (int r = 0; r < map.length; r++) {
+            for (int c = 0; c < map[r].length; c++) {
+                int tile = map[r][c];
+                int type = tile >= 100 ? tile / 100 : tile >= 10 ? tile / 10 : tile;
+                BufferedImage sprite = type < byType.length ? byType[type] : null;
+                if (sprite != null) backend.blit(g, sprite, c * size, r * size);
+            }
+        }
+        backend.end(g);
+    }
+
+    // The game's image scaled to the tile size, or a generated one with an antialiased (partly transparent) edge
+    private static BufferedImage sprite(String path, Color color, int size, boolean round) {
+        BufferedImage image = new File(path).exists() ? Assets.image(path) : null;
+        if (image != null) return SpriteCache.scaled(image, size, size);
+        BufferedImage generated = Assets.createImage(size, size, Transparency.TRANSLUCENT);
+        Graphics2D g = generated.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setColor(color);
+        if (round) g.fillOval(1, 1, size - 2, size - 2);
+        else g.fillRect(0, 0, size, size);
+        g.dispose();
+        return generated;
+    }
+}
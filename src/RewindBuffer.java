@@ -0,0 +1,118 @@
+import java.util.Arrays;
+
+// The last few seconds of world state, one frame per movement tick, for rewinding. Each frame keeps the small
+// state (players, scores, flags, enemies, ice trails) in full and the tile grids as an undo log of the cells that
+// changed since the frame before, so recording costs one pass over the grids and stepping back or forward only
+// touches the changed cells. Frame arrays are reused once the ring has wrapped, so recording allocates nothing.
+public class RewindBuffer {
+    // Seconds of play kept
+    static final int SECONDS = 10;
+    static final int FRAMES = SECONDS * 1000 / EnemySystem.TICK_MS;
+
+    // Grids being tracked (all the same size), and their values as of the frame at the cursor
+    private int[][][] grids = new int[0][][];
+    private int[] mirror = new int[0];
+    private int rows, cols;
+
+    // Per frame: the saved state, and the cells that changed as (index, value before, value after) triples
+    private final int[][] states = new int[FRAMES][];
+    private final int[][] changes = new int[FRAMES][];
+    private final int[] changeCount = new int[FRAMES];
+
+    // Oldest and newest frames held, and the frame the world currently shows (frame numbers, slot = frame % FRAMES)
+    private int oldest = 0, newest = -1, cursor = -1;
+
+    // Starts tracking a level's grids and forgets every frame
+    public void reset(int[][]... tracked) {
+        grids = tracked;
+        rows = tracked[0].length;
+        cols = tracked[0][0].length;
+        if (mirror.length != grids.length * rows * cols) mirror = new int[grids.length * rows * cols];
+        for (int g = 0; g < grids.length; g++) {
+            for (int r = 0; r < rows; r++) System.arraycopy(grids[g][r], 0, mirror, (g * rows + r) * cols, cols);
+        }
+        oldest = 0;
+        newest = -1;
+        cursor = -1;
+    }
+
+    // Starts a new frame after the one at the cursor (dropping any frames ahead of it), logs the grid cells that
+    // changed and returns the frame's state array, with room for at least size values, for the caller to fill
+    public int[] record(int size) {
+        newest = cursor + 1;
+        cursor = newest;
+        if (newest - oldest >= FRAMES) oldest = newest - FRAMES + 1;
+        int slot = newest % FRAMES;
+
+        // Log every cell that differs from the previous frame
+        int n = 0;
+        int[] log = changes[slot];
+        for (int g = 0; g < grids.length; g++) {
+            for (int r = 0; r < rows; r++) {
+                int[] row = grids[g][r];
+                int base = (g * rows + r) * cols;
+                for (int c = 0; c < cols; c++) {
+                    if (row[c] == mirror[base + c]) continue;
+                    if (log == null || n + 3 > log.length) log = changes[slot] = log == null ? new int[96] : Arrays.copyOf(log, log.length * 2);
+                    log[n++] = base + c;
+                    log[n++] = mirror[base + c];
+                    log[n++] = row[c];
+                    mirror[base + c] = row[c];
+                }
+            }
+        }
+        changeCount[slot] = n;
+
+        if (states[slot] == null || states[slot].length < size) states[slot] = new int[size];
+        return states[slot];
+    }
+
+    // Moves the world back one frame, undoing its grid changes; false if the oldest frame is already showing
+    public boolean back() {
+        if (cursor <= oldest) return false;
+        discardUnrecorded();
+        int slot = cursor % FRAMES;
+        int[] log = changes[slot];
+        for (int k = changeCount[slot] - 3; k >= 0; k -= 3) set(log[k], log[k + 1]);
+        cursor--;
+        return true;
+    }
+
+    // Moves the world forward one frame after stepping back, redoing its grid changes; false at the newest frame
+    public boolean forward() {
+        if (cursor >= newest) return false;
+        discardUnrecorded();
+        cursor++;
+        int slot = cursor % FRAMES;
+        int[] log = changes[slot];
+        for (int k = 0; k < changeCount[slot]; k += 3) set(log[k], log[k + 2]);
+        return true;
+    }
+
+    // State array of the frame the world currently shows (null before the first frame)
+    public int[] current() {
+        return cursor < 0 ? null : states[cursor % FRAMES];
+    }
+
+    // Frames that can still be stepped back through
+    public int available() {
+        return Math.max(0, cursor - oldest);
+    }
+
+    // Puts back any cell changed since the frame at the cursor was recorded (e.g. by a key press between ticks)
+    private void discardUnrecorded() {
+        for (int g = 0; g < grids.length; g++) {
+            for (int r = 0; r < rows; r++) {
+                int[] row = grids[g][r];
+                System.arraycopy(mirror, (g * rows + r) * cols, row, 0, cols);
+            }
+        }
+    }
+
+    // Writes a value into both the tracked grid and the mirror
+    private void set(int index, int value) {
+        mirror[index] = value;
+        int c = index % cols, r = index / cols % rows, g = index / cols / rows;
+        grids[g][r][c] = value;
+    }
+}
@@ -0,0 +1,59 @@
+import javax.swing.Timer;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Shared registry of repeating UI tasks, grouped by the screen that owns them so they stop when it leaves
+public class Scheduler {
+    // Timers owned by each screen, and the ones paused while the window is minimised
+    private static final Map<Screen, List<Timer>> tasks = new IdentityHashMap<>();
+    private static final Map<Screen, List<Timer>> suspended = new IdentityHashMap<>();
+
+    // Runs a task on the Event Dispatch Thread every delay milliseconds until it is stopped or its screen exits
+    public static Timer every(Screen owner, int delay, ActionListener task) {
+        Timer timer = new Timer(delay, task);
+        tasks.computeIfAbsent(owner, _ -> new ArrayList<>()).add(timer);
+        timer.start();
+        return timer;
+    }
+
+    // Stops and forgets every task owned by a screen
+    public static void cancel(Screen owner) {
+        suspended.remove(owner);
+        List<Timer> timers = tasks.remove(owner);
+        if (timers == null) return;
+        for (Timer timer : timers) timer.stop();
+    }
+
+    // Pauses the screen's running tasks
+    public static void suspend(Screen owner) {
+        List<Timer> timers = tasks.get(owner);
+        if (timers == null || suspended.containsKey(owner)) return;
+        List<Timer> running = new ArrayList<>();
+        for (Timer timer : timers) {
+            if (timer.isRunning()) {
+                timer.stop();
+                running.add(timer);
+            }
+        }
+        suspended.put(owner, running);
+    }
+
+    // Restarts the tasks paused by suspend
+    public static void resume(Screen owner) {
+        List<Timer> running = suspended.remove(owner);
+        if (running == null) return;
+        for (Timer timer : running) timer.start();
+    }
+
+    // Number of tasks currently scheduled across all screens
+    public static int activeTasks() {
+        int count = 0;
+        for (List<Timer> timers : tasks.values()) {
+            for (Timer timer : timers) if (timer.isRunning()) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,11 @@
+// Lifecycle hooks for panels shown in the main window (menus, level selection, the game itself)
+public interface Screen {
+    // Called after the screen has been added to the window
+    default void enter() {}
+
+    // Called before the screen is removed, its scheduled tasks are cancelled right after
+    default void exit() {}
+
+    // Called when the window is minimised (true) or restored (false), after its tasks are paused or resumed
+    default void suspend(boolean suspended) {}
+}
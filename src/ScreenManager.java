@@ -0,0 +1,48 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+// Swaps screens in the main window, running their lifecycle hooks and stopping the tasks of screens that leave
+public class ScreenManager {
+    // Suspends the visible screen while the window is minimised
+    public static void install(JFrame frame) {
+        frame.addWindowListener(new WindowAdapter() {
+            public void windowIconified(WindowEvent e) {
+                for (Component c : frame.getContentPane().getComponents()) {
+                    if (c instanceof Screen screen) {
+                        Scheduler.suspend(screen);
+                        screen.suspend(true);
+                    }
+                }
+            }
+
+            public void windowDeiconified(WindowEvent e) {
+                for (Component c : frame.getContentPane().getComponents()) {
+                    if (c instanceof Screen screen) {
+                        Scheduler.resume(screen);
+                        screen.suspend(false);
+                    }
+                }
+            }
+        });
+    }
+
+    // Replaces everything in the container with the given screen
+    public static void replace(Container parent, JComponent next) {
+        // Exit the outgoing screens and cancel everything they scheduled
+        for (Component c : parent.getComponents()) {
+            if (c instanceof Screen screen) {
+                screen.exit();
+                Scheduler.cancel(screen);
+            }
+        }
+
+        parent.removeAll();
+        parent.add(next);
+        parent.revalidate();
+        parent.repaint();
+        next.requestFocusInWindow();
+        if (next instanceof Screen screen) screen.enter();
+    }
+}
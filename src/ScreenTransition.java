@@ -0,0 +1,103 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.function.Supplier;
+
+// Drip wipe between two screens, composited from snapshots so neither live screen is repainted while it plays
+public class ScreenTransition extends JPanel implements Screen {
+    private static final String DRIP = "../graphics/images/map/frames/drip_animation.png";
+
+    // Drip sprite size and the distance it falls per frame
+    private static final int DRIP_W = 650, DRIP_H = 1080, DRIP_STEP = 10, FRAME_DELAY = 15;
+
+    // Snapshots of the outgoing screen and, once built, the incoming one
+    private final BufferedImage outgoing;
+    private BufferedImage incoming;
+    private final BufferedImage dripImage;
+
+    // Screen being transitioned to
+    private final String[] assets;
+    private final Supplier<? extends JComponent> factory;
+    private JComponent next;
+
+    // Vertical position of the drip sprite
+    private int dripY = -600;
+
+    // Replaces the given screen with a drip wipe, then shows the screen built by the supplier
+    public static void drip(JComponent from, String[] assets, Supplier<? extends JComponent> screen) {
+        Container parent = from.getParent();
+        ScreenManager.replace(parent, new ScreenTransition(capture(from), assets, screen));
+    }
+
+    private ScreenTransition(BufferedImage outgoing, String[] assets, Supplier<? extends JComponent> factory) {
+        this.outgoing = outgoing;
+        this.assets = assets;
+        this.factory = factory;
+        this.dripImage = Assets.image(DRIP);
+
+        // Start decoding the next screen's assets while the drip falls
+        if (!Assets.isResident(assets)) Assets.preload(assets, (done, count) -> {});
+    }
+
+    @Override
+    public void enter() {
+        Scheduler.every(this, FRAME_DELAY, _ -> step());
+    }
+
+    // Advances the drip, building the incoming screen once the drip covers the window
+    private void step() {
+        dripY += DRIP_STEP;
+        if (incoming == null && dripY >= 0 && Assets.isResident(assets)) {
+            next = factory.get();
+            // Hold the new screen's tasks until it is actually shown
+            if (next instanceof Screen screen) Scheduler.suspend(screen);
+            next.setSize(getSize());
+            incoming = capture(next);
+        }
+        if (dripY >= RenderScale.height()) finish();
+        else repaint();
+    }
+
+    // Swaps in the incoming screen, falling back to the loading screen if its assets were not ready in time
+    private void finish() {
+        Container parent = getParent();
+        if (next == null) {
+            LoadingScreen.show(parent, assets, factory);
+            return;
+        }
+        ScreenManager.replace(parent, next);
+        if (next instanceof Screen screen) Scheduler.resume(screen);
+    }
+
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+
+        // Outgoing screen underneath, incoming screen revealed above the drip, drip on top
+        g2d.drawImage(outgoing, 0, 0, null);
+        int revealY = RenderScale.toDeviceY(dripY);
+        if (incoming != null && revealY > 0) {
+            g2d.drawImage(incoming, 0, 0, getWidth(), revealY, 0, 0, getWidth(), revealY, null);
+        }
+        RenderScale.apply(g2d);
+        SpriteCache.draw(g2d, dripImage, 0, dripY, DRIP_W, DRIP_H);
+    }
+
+    // Paints a component into an image once, laying it out first if it has never been shown
+    private static BufferedImage capture(JComponent component) {
+        int width = Math.max(1, component.getWidth());
+        int height = Math.max(1, component.getHeight());
+        BufferedImage image = Assets.createImage(width, height, Transparency.OPAQUE);
+        layout(component);
+        Graphics2D g = image.createGraphics();
+        component.paint(g);
+        g.dispose();
+        return image;
+    }
+
+    // Lays out a component tree that is not attached to the window yet
+    private static void layout(Component component) {
+        if (!(component instanceof Container container)) return;
+        container.doLayout();
+        for (Component child : container.getComponents()) layout(child);
+    }
+}
@@ -0,0 +1,95 @@
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+// Rebuilds full snapshots from the keyframes and deltas produced by SnapshotEncoder
+public class SnapshotDecoder {
+    private int rows, cols;
+    private int[][] history = new int[0][];
+    private int[] historyTick = new int[0];
+    private int[] current;
+    private int lastTick = -1;
+
+    // Applies an encoded snapshot and returns its tick (to be acknowledged), or -1 if the baseline is missing
+    public int decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int tick = in.readInt();
+        int baselineTick = in.readInt();
+
+        if (baselineTick < 0) {
+            int newRows = in.readUnsignedShort();
+            int newCols = in.readUnsignedShort();
+            if (newRows != rows || newCols != cols || current == null) {
+                rows = newRows;
+                cols = newCols;
+                history = new int[SnapshotEncoder.HISTORY][];
+                historyTick = new int[SnapshotEncoder.HISTORY];
+                Arrays.fill(historyTick, -1);
+            }
+            int cells = rows * cols;
+            int[] map = new int[cells];
+            for (int i = 0; i < cells; i++) map[i] = in.readShort();
+            int entityCount = in.readUnsignedShort();
+            current = new int[cells + 1 + entityCount * SnapshotEncoder.ENTITY_STRIDE];
+            System.arraycopy(map, 0, current, 0, cells);
+            current[cells] = entityCount;
+            for (int i = 0; i < entityCount * SnapshotEncoder.ENTITY_STRIDE; i++) current[cells + 1 + i] = in.readShort();
+        } else {
+            // Deltas are only usable if the baseline is still known
+            int slot = baselineTick % SnapshotEncoder.HISTORY;
+            if (historyTick.length == 0 || historyTick[slot] != baselineTick) return -1;
+            int[] baseline = history[slot];
+            int cells = rows * cols;
+
+            int[] cellsState = new int[cells];
+            System.arraycopy(baseline, 0, cellsState, 0, cells);
+            int changedCells = readIndex(in, cells);
+            for (int i = 0; i < changedCells; i++) {
+                int index = readIndex(in, cells);
+                cellsState[index] = in.readShort();
+            }
+
+            int entityCount = in.readUnsignedShort();
+            current = new int[cells + 1 + entityCount * SnapshotEncoder.ENTITY_STRIDE];
+            System.arraycopy(cellsState, 0, current, 0, cells);
+            current[cells] = entityCount;
+            int copy = Math.min(entityCount, baseline[cells]) * SnapshotEncoder.ENTITY_STRIDE;
+            System.arraycopy(baseline, cells + 1, current, cells + 1, copy);
+            int changedEntities = in.readUnsignedShort();
+            for (int i = 0; i < changedEntities; i++) {
+                int offset = cells + 1 + in.readUnsignedShort() * SnapshotEncoder.ENTITY_STRIDE;
+                for (int k = 0; k < SnapshotEncoder.ENTITY_STRIDE; k++) current[offset + k] = in.readShort();
+            }
+        }
+
+        history[tick % SnapshotEncoder.HISTORY] = current;
+        historyTick[tick % SnapshotEncoder.HISTORY] = tick;
+        lastTick = tick;
+        return tick;
+    }
+
+    // Reads a cell index or count written by SnapshotEncoder.writeIndex
+    private static int readIndex(DataInputStream in, int cells) throws IOException {
+        return cells > SnapshotEncoder.MAX_SHORT_CELLS ? in.readInt() : in.readUnsignedShort();
+    }
+
+    // Returns the tile at the given position in the latest decoded snapshot
+    public int tile(int row, int col) {
+        return current[row * cols + col];
+    }
+
+    // Returns the number of entities in the latest decoded snapshot
+    public int entityCount() {
+        return current[rows * cols];
+    }
+
+    // Returns one value (0 = x, 1 = y, 2 = direction) of an entity in the latest decoded snapshot
+    public int entityValue(int entity, int field) {
+        return current[rows * cols + 1 + entity * SnapshotEncoder.ENTITY_STRIDE + field];
+    }
+
+    public int lastTick() {
+        return lastTick;
+    }
+}
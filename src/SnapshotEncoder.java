@@ -0,0 +1,236 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+// Encodes the tile map and entity states as compact deltas against the last acknowledged snapshot
+public class SnapshotEncoder {
+    // Number of ticks between forced keyframes and number of past snapshots kept as baselines
+    static final int KEYFRAME_INTERVAL = 60;
+    static final int HISTORY = 32;
+
+    // Values stored per entity (x, y, direction code)
+    static final int ENTITY_STRIDE = 3;
+
+    // Largest map whose cell indices are sent as two bytes
+    static final int MAX_SHORT_CELLS = 1 << 16;
+
+    private final int rows, cols, stateSize;
+
+    // Ring buffer of past states, each a flattened map followed by the entity values
+    private final int[][] history;
+    private final int[] historyTick;
+
+    // Tick bookkeeping for baselines and keyframes
+    private int tick = 0;
+    private int ackedTick = -1;
+    private int lastKeyframeTick = -KEYFRAME_INTERVAL;
+
+    // Reused output buffer
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    public SnapshotEncoder(int rows, int cols, int maxEntities) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stateSize = rows * cols + 1 + maxEntities * ENTITY_STRIDE;
+        this.history = new int[HISTORY][stateSize];
+        this.historyTick = new int[HISTORY];
+        Arrays.fill(historyTick, -1);
+    }
+
+    // Called when the receiver confirms it has applied the snapshot for the given tick
+    public void acknowledge(int ackTick) {
+        if (ackTick > ackedTick && ackTick <= tick) ackedTick = ackTick;
+    }
+
+    // Forces the next snapshot to be a keyframe (e.g. when a new spectator joins)
+    public void requestKeyframe() {
+        ackedTick = -1;
+    }
+
+    // Captures the current state and returns it encoded against the acknowledged baseline
+    public byte[] encode(int[][] map, int[] entities, int entityCount) {
+        int[] state = history[tick % HISTORY];
+        for (int row = 0; row < rows; row++) {
+            System.arraycopy(map[row], 0, state, row * cols, cols);
+        }
+        return encodeState(state, entities, entityCount);
+    }
+
+    // Same as above for a map already flattened in row-major order (as in a FrameSnapshot)
+    public byte[] encode(int[] tiles, int[] entities, int entityCount) {
+        int[] state = history[tick % HISTORY];
+        System.arraycopy(tiles, 0, state, 0, rows * cols);
+        return encodeState(state, entities, entityCount);
+    }
+
+    // Adds the entities to a state whose tiles are filled in and encodes it
+    private byte[] encodeState(int[] state, int[] entities, int entityCount) {
+        int base = rows * cols;
+        state[base] = entityCount;
+        System.arraycopy(entities, 0, state, base + 1, entityCount * ENTITY_STRIDE);
+        historyTick[tick % HISTORY] = tick;
+
+        // Use a delta only if the baseline is still in the ring buffer and a keyframe isn't due
+        int[] baseline = null;
+        if (ackedTick >= 0 && tick - ackedTick < HISTORY && historyTick[ackedTick % HISTORY] == ackedTick
+                && tick - lastKeyframeTick < KEYFRAME_INTERVAL) {
+            baseline = history[ackedTick % HISTORY];
+        }
+
+        bytes.reset();
+        try {
+            out.writeInt(tick);
+            if (baseline == null) {
+                writeKeyframe(state);
+                lastKeyframeTick = tick;
+            } else {
+                out.writeInt(ackedTick);
+                writeDelta(state, baseline);
+            }
+            out.flush();
+        } catch (IOException e) {
+            // ByteArrayOutputStream never throws
+            System.out.println(e.getMessage());
+        }
+        tick++;
+        return bytes.toByteArray();
+    }
+
+    // Writes every cell and entity
+    private void writeKeyframe(int[] state) throws IOException {
+        out.writeInt(-1);
+        out.writeShort(rows);
+        out.writeShort(cols);
+        int cells = rows * cols;
+        for (int i = 0; i < cells; i++) out.writeShort(state[i]);
+
+        int entityCount = state[cells];
+        out.writeShort(entityCount);
+        for (int i = 0; i < entityCount * ENTITY_STRIDE; i++) out.writeShort(state[cells + 1 + i]);
+    }
+
+    // Writes only the cells and entities that differ from the baseline
+    private void writeDelta(int[] state, int[] baseline) throws IOException {
+        int cells = rows * cols;
+        int changed = 0;
+        for (int i = 0; i < cells; i++) if (state[i] != baseline[i]) changed++;
+
+        writeIndex(changed, cells);
+        for (int i = 0; i < cells; i++) {
+            if (state[i] != baseline[i]) {
+                writeIndex(i, cells);
+                out.writeShort(state[i]);
+            }
+        }
+
+        // Entity count may change between baseline and current state, new entities are always sent
+        int entityCount = state[cells];
+        int baseCount = baseline[cells];
+        changed = 0;
+        for (int e = 0; e < entityCount; e++) if (e >= baseCount || entityChanged(state, baseline, cells + 1 + e * ENTITY_STRIDE)) changed++;
+
+        out.writeShort(entityCount);
+        out.writeShort(changed);
+        for (int e = 0; e < entityCount; e++) {
+            int offset = cells + 1 + e * ENTITY_STRIDE;
+            if (e >= baseCount || entityChanged(state, baseline, offset)) {
+                out.writeShort(e);
+                for (int k = 0; k < ENTITY_STRIDE; k++) out.writeShort(state[offset + k]);
+            }
+        }
+    }
+
+    // Writes a cell index or count, as an unsigned short on maps of up to 65536 cells and an int on bigger ones
+    private void writeIndex(int value, int cells) throws IOException {
+        if (cells > MAX_SHORT_CELLS) out.writeInt(value);
+        else out.writeShort(value);
+    }
+
+    private boolean entityChanged(int[] state, int[] baseline, int offset) {
+        for (int k = 0; k < ENTITY_STRIDE; k++) {
+            if (state[offset + k] != baseline[offset + k]) return true;
+        }
+        return false;
+    }
+
+    // Headless round-trip check, e.g. "java SnapshotEncoder level2.txt 2000 20" plays level 2's enemies for 2000
+    // ticks with both players making and breaking ice, sends every snapshot over a link that loses 20% of them,
+    // and checks that whatever the decoder rebuilds matches what was encoded. Exits with 1 on any mismatch.
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: java SnapshotEncoder <level.txt> [ticks] [percent lost]");
+            return;
+        }
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+        int lost = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int[][] map = LevelPack.readText(new File(args[0]), 18, 18);
+        int rows = map.length, cols = map[0].length, tileSize = 35;
+
+        EnemySystem enemies = new EnemySystem(rows, cols, tileSize);
+        enemies.clear();
+        Ice.reset(rows, cols);
+        int[] spawn = new int[4];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < cols; c++) {
+                int tile = map[r][c];
+                if (tile / 10 == 3 && EnemyTypes.isDefined(tile % 10)) enemies.add(tile % 10, c, r);
+                if (tile == 40 || tile == 41) {
+                    spawn[(tile - 40) * 2] = c * tileSize;
+                    spawn[(tile - 40) * 2 + 1] = r * tileSize;
+                }
+            }
+        }
+        EnemySystem.levelAnalysis = LevelAnalyzer.analyze(map);
+        Arrays.fill(EnemyTypes.catchRange, -1);
+
+        SnapshotEncoder encoder = new SnapshotEncoder(rows, cols, enemies.size());
+        SnapshotDecoder decoder = new SnapshotDecoder();
+        int[] entities = new int[enemies.size() * ENTITY_STRIDE];
+        Random random = new Random(1);
+        int delivered = 0, keyframes = 0, unusable = 0, mismatches = 0;
+        long bytes = 0;
+        for (int t = 0; t < ticks; t++) {
+            int d = t / 20 % 4;
+            if (t % 20 == 0) Ice.formIce(spawn[0], spawn[1], EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+            if (t % 20 == 10) Ice.breakIce(spawn[0], spawn[1], EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+            if (t % 20 == 5) Ice.formIce(spawn[2], spawn[3], EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+            if (t % 20 == 15) Ice.breakIce(spawn[2], spawn[3], EnemySystem.DX[d], EnemySystem.DY[d], map, tileSize);
+            Ice.tick(map);
+            enemies.tick(map, spawn[0], spawn[1], spawn[2], spawn[3]);
+
+            enemies.putEntities(entities, 0);
+            byte[] data = encoder.encode(map, entities, enemies.size());
+            bytes += data.length;
+            if (random.nextInt(100) < lost) continue;
+
+            // A delta against a baseline the decoder never got can't be applied; ask for a keyframe instead
+            int tick = decoder.decode(data);
+            if (tick < 0) {
+                unusable++;
+                encoder.requestKeyframe();
+                continue;
+            }
+            delivered++;
+            if (new DataInputStream(new ByteArrayInputStream(data, 4, 4)).readInt() < 0) keyframes++;
+            encoder.acknowledge(tick);
+
+            boolean same = decoder.entityCount() == enemies.size();
+            for (int r = 0; r < rows && same; r++) {
+                for (int c = 0; c < cols && same; c++) same = decoder.tile(r, c) == map[r][c];
+            }
+            for (int i = 0; i < enemies.size() * ENTITY_STRIDE && same; i++) {
+                same = decoder.entityValue(i / ENTITY_STRIDE, i % ENTITY_STRIDE) == entities[i];
+            }
+            if (!same) mismatches++;
+        }
+        System.out.println(args[0] + ": " + delivered + "/" + ticks + " snapshots applied (" + keyframes + " keyframes, "
+                + unusable + " unusable deltas), " + bytes / ticks + " bytes per snapshot, " + mismatches + " mismatches");
+        if (mismatches > 0) System.exit(1);
+    }
+}
@@ -0,0 +1,118 @@
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+// Snowfall shared by the menu screens: particles live in primitive arrays and are drawn from pre-rotated sprites
+public class SnowField {
+    // Rotation steps cached per sprite (5 degrees each, the spin applied per update)
+    private static final int ANGLE_STEPS = 72;
+
+    // Drawn size of a snowflake and the size of its rotated bounding square
+    private static final int SIZE = 65;
+    private static final int ROTATED_SIZE = (int) Math.ceil(SIZE * Math.sqrt(2));
+    private static final int DRAW_OFFSET = SIZE / 2 - ROTATED_SIZE / 2;
+
+    // Default grid layout used by the menus
+    private static final int ROWS = 9, COLS = 10, SPACING_X = 130, SPACING_Y = 130;
+
+    // Single instance shared by every menu screen so the snow carries on across transitions
+    private static SnowField shared;
+
+    // Particle state as struct-of-arrays
+    private int[] x, y, angle;
+    private int count = 0;
+
+    // Vertical distance a particle jumps back up when it leaves the screen
+    private int wrapHeight = 0;
+
+    // Sprite rotated to each angle step
+    private final BufferedImage[] rotated = new BufferedImage[ANGLE_STEPS];
+
+    public SnowField(BufferedImage sprite, int capacity) {
+        x = new int[capacity];
+        y = new int[capacity];
+        angle = new int[capacity];
+        if (sprite != null) buildRotations(sprite);
+    }
+
+    // Returns the shared snowfall, laid out in the menu's diagonal grid on first use
+    public static SnowField shared() {
+        if (shared == null) {
+            shared = new SnowField(Assets.image("../graphics/images/map/frames/snowflake.png"), ROWS * COLS);
+            shared.spawnGrid(ROWS, COLS, SPACING_X, SPACING_Y);
+        }
+        return shared;
+    }
+
+    // Adds particles in a diagonal grid with random initial rotations
+    public void spawnGrid(int rows, int cols, int spacingX, int spacingY) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                add(col * spacingX, row * spacingY - col * spacingY, (int) (Math.random() * ANGLE_STEPS));
+            }
+        }
+        wrapHeight = Math.max(wrapHeight, rows * spacingY);
+    }
+
+    // Adds one particle, growing the pool if it is full
+    public void add(int px, int py, int angleStep) {
+        if (count == x.length) {
+            int capacity = Math.max(16, x.length * 2);
+            x = Arrays.copyOf(x, capacity);
+            y = Arrays.copyOf(y, capacity);
+            angle = Arrays.copyOf(angle, capacity);
+        }
+        x[count] = px;
+        y[count] = py;
+        angle[count] = angleStep % ANGLE_STEPS;
+        count++;
+    }
+
+    // Moves every particle diagonally and spins it in a single pass, recycling those that leave the screen
+    public void update(int width, int height) {
+        int[] px = x, py = y, pa = angle;
+        for (int i = 0; i < count; i++) {
+            px[i] -= 2;
+            py[i] += 2;
+            pa[i] = pa[i] + 1 == ANGLE_STEPS ? 0 : pa[i] + 1;
+            if (px[i] < -SIZE || py[i] > height) {
+                px[i] = width;
+                py[i] -= height + wrapHeight;
+            }
+        }
+    }
+
+    // Draws every visible particle as an unrotated blit of its cached sprite
+    public void draw(Graphics2D g) {
+        if (rotated[0] == null) return;
+        Rectangle clip = g.getClipBounds();
+        for (int i = 0; i < count; i++) {
+            int dx = x[i] + DRAW_OFFSET;
+            int dy = y[i] + DRAW_OFFSET;
+            if (clip != null && (dx > clip.x + clip.width || dy > clip.y + clip.height || dx + ROTATED_SIZE < clip.x || dy + ROTATED_SIZE < clip.y)) continue;
+            g.drawImage(rotated[angle[i]], dx, dy, null);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    // Renders the sprite at every angle step once
+    private void buildRotations(BufferedImage sprite) {
+        for (int step = 0; step < ANGLE_STEPS; step++) {
+            BufferedImage img = Assets.createImage(ROTATED_SIZE, ROTATED_SIZE, Transparency.TRANSLUCENT);
+            Graphics2D g2 = img.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.translate(ROTATED_SIZE / 2.0, ROTATED_SIZE / 2.0);
+            g2.rotate(Math.toRadians(step * 360.0 / ANGLE_STEPS));
+            g2.drawImage(sprite, -SIZE / 2, -SIZE / 2, SIZE, SIZE, null);
+            g2.dispose();
+            rotated[step] = img;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Composites sprites straight into the int[] pixels of a TYPE_INT_RGB frame with plain Java loops. Each sprite is
+// converted once to premultiplied ARGB, so a blit is a copy for opaque pixels and one multiply per channel pair
+// for translucent ones. The result doesn't depend on the Java2D pipeline or graphics driver, so frame times are
+// the same on every machine with the same CPU.
+public class SoftwareBackend implements RenderBackend {
+    // Frame a thread is drawing, matched against the graphics passed to blit
+    private static final class Target {
+        Graphics2D g;
+        int[] pixels;
+        int width, height;
+    }
+
+    // A sprite converted to premultiplied ARGB, and whether every pixel is fully opaque
+    private static final class Sprite {
+        final int[] pixels;
+        final int width, height;
+        final boolean opaque;
+
+        Sprite(int[] pixels, int width, int height, boolean opaque) {
+            this.pixels = pixels;
+            this.width = width;
+            this.height = height;
+            this.opaque = opaque;
+        }
+    }
+
+    private final ThreadLocal<Target> targets = ThreadLocal.withInitial(Target::new);
+
+    // Converted sprites, dropped along with the scaled images SpriteCache holds
+    private final Map<BufferedImage, Sprite> sprites = new WeakHashMap<>();
+
+    // Used for graphics that aren't drawing a frame of this backend (menus and other screens)
+    private final Java2DBackend fallback = new Java2DBackend();
+
+    @Override
+    public BufferedImage createFrame(int width, int height) {
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Override
+    public Graphics2D begin(BufferedImage frame) {
+        if (frame.getType() != BufferedImage.TYPE_INT_RGB) throw new IllegalArgumentException("software frames must be TYPE_INT_RGB");
+        Target target = targets.get();
+        target.g = frame.createGraphics();
+        target.pixels = ((DataBufferInt) frame.getRaster().getDataBuffer()).getData();
+        target.width = frame.getWidth();
+        target.height = frame.getHeight();
+        return target.g;
+    }
+
+    @Override
+    public void blit(Graphics2D g, BufferedImage image, int x, int y) {
+        Target target = targets.get();
+        if (target.g != g) {
+            fallback.blit(g, image, x, y);
+            return;
+        }
+        Sprite sprite = sprite(image);
+
+        // Clip the sprite to the frame
+        int left = Math.max(0, -x), top = Math.max(0, -y);
+        int right = Math.min(sprite.width, target.width - x), bottom = Math.min(sprite.height, target.height - y);
+        if (right <= left || bottom <= top) return;
+
+        int[] src = sprite.pixels, dst = target.pixels;
+        int count = right - left;
+        for (int row = top; row < bottom; row++) {
+            int s = row * sprite.width + left;
+            int d = (y + row) * target.width + x + left;
+            if (sprite.opaque) {
+                System.arraycopy(src, s, dst, d, count);
+                continue;
+            }
+            for (int end = s + count; s < end; s++, d++) {
+                int p = src[s];
+                int a = p >>> 24;
+                if (a == 0) continue;
+                if (a == 255) {
+                    dst[d] = p;
+                    continue;
+                }
+                // dst * (255 - a) / 255 for red and blue together, then green, rounded exactly
+                int inv = 255 - a, q = dst[d];
+                int rb = (q & 0xFF00FF) * inv + 0x800080;
+                rb = ((rb + ((rb >>> 8) & 0xFF00FF)) >>> 8) & 0xFF00FF;
+                int gr = (q & 0xFF00) * inv + 0x8000;
+                gr = ((gr + ((gr >>> 8) & 0xFF00)) >>> 8) & 0xFF00;
+                dst[d] = p + rb + gr;
+            }
+        }
+    }
+
+    @Override
+    public void end(Graphics2D g) {
+        Target target = targets.get();
+        if (target.g == g) {
+            target.g = null;
+            target.pixels = null;
+        }
+        g.dispose();
+    }
+
+    // Returns the premultiplied pixels of a sprite, converting it on first use
+    private synchronized Sprite sprite(BufferedImage image) {
+        Sprite sprite = sprites.get(image);
+        if (sprite != null) return sprite;
+        int w = image.getWidth(), h = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, w, h, null, 0, w);
+        boolean opaque = true;
+        for (int i = 0; i < pixels.length; i++) {
+            int p = pixels[i];
+            int a = p >>> 24;
+            if (a == 255) continue;
+            opaque = false;
+            pixels[i] = a == 0 ? 0 : a << 24 | premultiply(p >> 16 & 0xFF, a) << 16 | premultiply(p >> 8 & 0xFF, a) << 8 | premultiply(p & 0xFF, a);
+        }
+        sprite = new Sprite(pixels, w, h, opaque);
+        sprites.put(image, sprite);
+        return sprite;
+    }
+
+    // Channel value times alpha / 255, rounded
+    private static int premultiply(int c, int a) {
+        int t = c * a + 128;
+        return (t + (t >> 8)) >> 8;
+    }
+}
@@ -0,0 +1,76 @@
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+// Sprites pre-scaled to the exact pixel size they are drawn at, so each draw is an unscaled 1:1 blit
+public class SpriteCache {
+    // Scaled copies of each source image keyed by packed device width and height
+    private static final Map<Image, Map<Long, BufferedImage>> cache = new WeakHashMap<>();
+
+    // Transform types that can be resolved to a plain pixel rectangle
+    private static final int AXIS_ALIGNED = AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE;
+
+    // Draws an image into a logical rectangle, using a copy pre-scaled to the rectangle's size on screen
+    public static void draw(Graphics g, Image img, int x, int y, int w, int h) {
+        if (img == null) return;
+        Graphics2D g2d = (Graphics2D) g;
+        AffineTransform at = g2d.getTransform();
+
+        // Animated images, flips and rotations keep the regular scaled draw
+        if (!(img instanceof BufferedImage source) || w <= 0 || h <= 0 || (at.getType() & ~AXIS_ALIGNED) != 0) {
+            g2d.drawImage(img, x, y, w, h, null);
+            return;
+        }
+
+        // Round both edges so neighbouring tiles still meet without gaps
+        int left = (int) Math.round(x * at.getScaleX() + at.getTranslateX());
+        int top = (int) Math.round(y * at.getScaleY() + at.getTranslateY());
+        int right = (int) Math.round((x + w) * at.getScaleX() + at.getTranslateX());
+        int bottom = (int) Math.round((y + h) * at.getScaleY() + at.getTranslateY());
+        if (right <= left || bottom <= top) return;
+
+        RenderBackend.CURRENT.blit(g2d, scaled(source, right - left, bottom - top), left, top);
+    }
+
+    // Returns the image scaled to the given pixel size, rendering it on first request
+    static synchronized BufferedImage scaled(BufferedImage source, int width, int height) {
+        if (source.getWidth() == width && source.getHeight() == height) return source;
+        Map<Long, BufferedImage> sizes = cache.computeIfAbsent(source, _ -> new HashMap<>());
+        long key = ((long) width << 32) | height;
+        BufferedImage scaled = sizes.get(key);
+        if (scaled == null) {
+            scaled = Assets.createImage(width, height, source.getTransparency());
+            Graphics2D g2 = scaled.createGraphics();
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(source, 0, 0, width, height, null);
+            g2.dispose();
+            sizes.put(key, scaled);
+        }
+        return scaled;
+    }
+
+    // Drops every scaled copy, called when the render scale changes
+    public static synchronized void clear() {
+        cache.clear();
+    }
+
+    // Memory held by the scaled copies
+    public static synchronized long bytes() {
+        long total = 0;
+        for (Map<Long, BufferedImage> sizes : cache.values()) {
+            for (BufferedImage image : sizes.values()) total += Assets.bytes(image);
+        }
+        return total;
+    }
+
+    // Number of scaled copies currently held
+    public static synchronized int size() {
+        int count = 0;
+        for (Map<Long, BufferedImage> sizes : cache.values()) count += sizes.size();
+        return count;
+    }
+}
@@ -0,0 +1,50 @@
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Lock-free hand-off of the latest value from one writer thread to one reader thread. There are three slots: the
+// writer fills its back slot and publishes it by swapping it with the middle one, and the reader swaps the middle
+// slot for its front slot when a newer one has been published. Neither side ever waits for the other, the writer
+// can publish as often as it likes (unread values are simply overwritten) and the reader always gets the newest.
+public class TripleBuffer<T> {
+    // Set on the middle index when it holds a value the reader hasn't taken yet
+    private static final int FRESH = 4;
+    private static final int INDEX = 3;
+
+    private final Object[] slots;
+
+    // Slot owned by the writer, slot owned by the reader, and the shared middle slot with its fresh bit
+    private int back = 0;
+    private int front = 2;
+    private final AtomicInteger middle = new AtomicInteger(1);
+
+    public TripleBuffer(T first, T second, T third) {
+        slots = new Object[]{first, second, third};
+    }
+
+    // Writer: the slot to fill in before publishing
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    // Writer: replaces the value in the back slot (e.g. with a larger image)
+    public void setBack(T value) {
+        slots[back] = value;
+    }
+
+    // Writer: hands the back slot to the reader and takes the middle slot as the new back slot
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    // Reader: true if a value has been published since the last acquire
+    public boolean fresh() {
+        return (middle.get() & FRESH) != 0;
+    }
+
+    // Reader: takes the newest published value, or returns the current one again if nothing newer was published
+    @SuppressWarnings("unchecked")
+    public T acquire() {
+        if (fresh()) front = middle.getAndSet(front) & INDEX;
+        return (T) slots[front];
+    }
+}
@@ -2,103 +2,66 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import javax.imageio.ImageIO;
 import java.awt.geom.AffineTransform;
 import java.awt.font.TextLayout;
 
-public class TutorialScreen extends JPanel {
+public class TutorialScreen extends JPanel implements Screen {
     // Total number of tutorial pages
     private final int totalPages = 4;
     // Current tutorial page index
     private int currentPage = 0;
 
     // UI assets
-    private BufferedImage frameImage, prevButtonImage, nextButtonImage, snowflakeImage;
+    private BufferedImage frameImage, prevButtonImage, nextButtonImage;
     private final ImageIcon[] tutorialGifs = new ImageIcon[totalPages + 1];
 
-    // Snowflake animation
-    private final List<Snowflake> snowflakes;
-    private final int rows = 9, cols = 10, spacingX = 130, spacingY = 130;
-
-    // Represents a snowflake with position and rotation angle
-    private static class Snowflake {
-        Point position;
-        double angle;
-
-        public Snowflake(int x, int y) {
-            this.position = new Point(x, y);
-            this.angle = Math.random() * 360;
-        }
-    }
+    // Assets that must be resident before the screen is shown
+    static final String[] ASSETS = {
+            "../graphics/images/map/frames/image_frame.png",
+            "../graphics/images/map/buttons/previous_button.png",
+            "../graphics/images/map/buttons/next_button.png",
+            "../graphics/images/map/frames/snowflake.png",
+            "../graphics/images/map/tutorial/tutorial1.gif",
+            "../graphics/images/map/tutorial/tutorial2.gif",
+            "../graphics/images/map/tutorial/tutorial3.gif",
+            "../graphics/images/map/tutorial/tutorial4.gif",
+            "../graphics/images/map/tutorial/tutorial5.gif"
+    };
 
     // Loads assets, initializes snowflakes and sets up animation and input
     public TutorialScreen() {
-        try {
-            frameImage = ImageIO.read(new File("../graphics/images/map/frames/image_frame.png"));
-            prevButtonImage = ImageIO.read(new File("../graphics/images/map/buttons/previous_button.png"));
-            nextButtonImage = ImageIO.read(new File("../graphics/images/map/buttons/next_button.png"));
-            snowflakeImage = ImageIO.read(new File("../graphics/images/map/frames/snowflake.png"));
-
-            for (int i = 0; i < totalPages + 1; i++) {
-                tutorialGifs[i] = new ImageIcon("../graphics/images/map/tutorial/tutorial" + (i + 1) + ".gif");
-            }
+        frameImage = Assets.image("../graphics/images/map/frames/image_frame.png");
+        prevButtonImage = Assets.image("../graphics/images/map/buttons/previous_button.png");
+        nextButtonImage = Assets.image("../graphics/images/map/buttons/next_button.png");
 
-        } catch (IOException e) {
-            System.out.println(e.getMessage());
-        }
-
-        // Populate snowflake list for background animation
-        snowflakes = new ArrayList<>();
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                int x = col * spacingX;
-                int y = row * spacingY - col * spacingY;
-                snowflakes.add(new Snowflake(x, y));
-            }
+        for (int i = 0; i < totalPages + 1; i++) {
+            tutorialGifs[i] = Assets.icon("../graphics/images/map/tutorial/tutorial" + (i + 1) + ".gif");
         }
 
         // Animate snowflakes falling diagonally
-        Timer snowTimer = new Timer(100, _ -> {
-            for (Snowflake flake : snowflakes) {
-                flake.position.x -= 2;
-                flake.position.y += 2;
-                flake.angle = (flake.angle + 5) % 360;
-
-                // Reset snowflake to top if it moves out of bounds
-                if (flake.position.x < -65 || flake.position.y > getHeight()) {
-                    flake.position.x = getWidth();
-                    flake.position.y -= getHeight() + rows * spacingY;
-                }
-            }
+        Scheduler.every(this, 100, _ -> {
+            SnowField.shared().update(RenderScale.width(), RenderScale.height());
             repaint();
         });
-        snowTimer.start();
 
         // Mouse click handling for buttons
         addMouseListener(new MouseAdapter() {
             public void mouseClicked(MouseEvent e) {
-                int mx = e.getX();
-                int my = e.getY();
+                Point p = RenderScale.toLogical(e.getPoint());
+                int mx = p.x;
+                int my = p.y;
 
                 int buttonW = 100, buttonH = 50;
-                int centerX = getWidth() / 2;
+                int centerX = RenderScale.width() / 2;
 
-                Rectangle backRect = new Rectangle(centerX - 120, getHeight() - 100, buttonW, buttonH);
-                Rectangle nextRect = new Rectangle(centerX + 20, getHeight() - 100, buttonW, buttonH);
+                Rectangle backRect = new Rectangle(centerX - 120, RenderScale.height() - 100, buttonW, buttonH);
+                Rectangle nextRect = new Rectangle(centerX + 20, RenderScale.height() - 100, buttonW, buttonH);
 
                 // If back is clicked
                 if (backRect.contains(mx, my)) {
                     if (currentPage == 0) {
                         // Go back to menu if on first page
-                        Container parent = TutorialScreen.this.getParent();
-                        parent.removeAll();
-                        parent.add(new MenuScreen());
-                        parent.revalidate();
-                        parent.repaint();
+                        LoadingScreen.show(TutorialScreen.this.getParent(), MenuScreen.ASSETS, MenuScreen::new);
                     } else {
                         // Go to previous page
                         currentPage--;
@@ -120,44 +83,39 @@ public class TutorialScreen extends JPanel {
         super.paintComponent(g);
         setBackground(new Color(246, 254, 254, 255));
         Graphics2D g2d = (Graphics2D) g;
+        RenderScale.apply(g2d);
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
 
         // Draw animated snowflakes with rotation
-        for (Snowflake flake : snowflakes) {
-            AffineTransform old = g2d.getTransform();
-            g2d.translate(flake.position.x + 32, flake.position.y + 32);
-            g2d.rotate(Math.toRadians(flake.angle));
-            g2d.drawImage(snowflakeImage, -32, -32, 65, 65, null);
-            g2d.setTransform(old);
-        }
+        SnowField.shared().draw(g2d);
 
         // Draw frame for tutorial content
         int frameW = 600;
         int frameH = 500;
-        int frameX = (getWidth() - frameW) / 2;
+        int frameX = (RenderScale.width() - frameW) / 2;
         int frameY = 100;
 
-        g2d.drawImage(frameImage, frameX, frameY, frameW, frameH, null);
+        SpriteCache.draw(g2d, frameImage, frameX, frameY, frameW, frameH);
 
         // Draw current tutorial GIF inside the frame
         Image tutorialImage = tutorialGifs[currentPage].getImage();
-        g2d.drawImage(tutorialImage, (getWidth() - 500) / 2 + 60, frameY + 100,
+        g2d.drawImage(tutorialImage, (RenderScale.width() - 500) / 2 + 60, frameY + 100,
                 380, 200, this);
 
         // Draw navigation buttons
         int buttonW = 100;
         int buttonH = 60;
-        int centerX = getWidth() / 2;
+        int centerX = RenderScale.width() / 2;
 
-        g2d.drawImage(prevButtonImage, centerX - 120, getHeight() - 120, buttonW, buttonH, null);
+        SpriteCache.draw(g2d, prevButtonImage, centerX - 120, RenderScale.height() - 120, buttonW, buttonH);
         if (currentPage < totalPages) {
-            g2d.drawImage(nextButtonImage, centerX + 20, getHeight() - 120, buttonW, buttonH, null);
+            SpriteCache.draw(g2d, nextButtonImage, centerX + 20, RenderScale.height() - 120, buttonW, buttonH);
         }
 
         // Display description text based on current page
         Font font = new Font("Arial", Font.BOLD, 28);
         String[] description = {"Player 1 walk with the arrow keys.\nPlayer 2 walk with the WASD keys.", "Player 1 shoot with SPACE.\nPlayer 2 shoot with the F key.", "Shoot ice blocks to break them again.", "Pick up all fruit to complete the level.", "Avoid being flattened by the enemies!"};
-        int frameCenterX = getWidth() / 2;
+        int frameCenterX = RenderScale.width() / 2;
         int frameTextStartY = 440;
         drawOutlinedText(g2d, description[currentPage], frameCenterX, frameTextStartY, font);
     }